@@ -0,0 +1,87 @@
+package com.caching.loadtest;
+
+import java.util.Random;
+
+/**
+ * Artificial upstream latency, parsed from a spec string:
+ * <ul>
+ *     <li>{@code fixed:MS}</li>
+ *     <li>{@code uniform:MIN_MS:MAX_MS}</li>
+ *     <li>{@code lognormal:MEDIAN_MS:SIGMA} - long-tailed, the usual shape of real API latency</li>
+ * </ul>
+ */
+public final class LatencyDistribution {
+    private final String spec;
+    private final Kind kind;
+    private final double first;
+    private final double second;
+
+    private enum Kind { FIXED, UNIFORM, LOGNORMAL }
+
+    private LatencyDistribution(String spec, Kind kind, double first, double second) {
+        this.spec = spec;
+        this.kind = kind;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Parses a latency spec.
+     *
+     * @param spec the spec, for example {@code lognormal:40:0.6}
+     * @return the distribution
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static LatencyDistribution parse(String spec) {
+        String[] parts = spec.split(":");
+        try {
+            switch (parts[0]) {
+                case "fixed":
+                    requireParts(spec, parts, 2);
+                    return new LatencyDistribution(spec, Kind.FIXED, Double.parseDouble(parts[1]), 0);
+                case "uniform":
+                    requireParts(spec, parts, 3);
+                    return new LatencyDistribution(spec, Kind.UNIFORM, Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "lognormal":
+                    requireParts(spec, parts, 3);
+                    return new LatencyDistribution(spec, Kind.LOGNORMAL, Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default:
+                    throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + spec, e);
+        }
+    }
+
+    /**
+     * Draws a latency in milliseconds.
+     *
+     * @param random the random source
+     * @return a non-negative latency
+     */
+    public long sampleMillis(Random random) {
+        double millis;
+        switch (kind) {
+            case UNIFORM:
+                millis = first + (second - first) * random.nextDouble();
+                break;
+            case LOGNORMAL:
+                millis = first * Math.exp(second * random.nextGaussian());
+                break;
+            default:
+                millis = first;
+        }
+        return Math.max(0, Math.round(millis));
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    private static void requireParts(String spec, String[] parts, int expected) {
+        if (parts.length != expected) {
+            throw new IllegalArgumentException("Invalid latency distribution: " + spec);
+        }
+    }
+}
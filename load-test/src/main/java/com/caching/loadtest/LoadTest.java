@@ -0,0 +1,323 @@
+package com.caching.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the LocationController -> LocationService -> cache -> RestTemplate pipeline.
+ * <p>
+ * Starts a {@link PositionstackStub}, launches the application jar pointed at the stub, and drives a Zipfian
+ * mix of forward and reverse geocoding requests at a fixed arrival rate. Requests are sent on schedule
+ * whether or not earlier ones have completed, and latency is measured from the scheduled send time, so a
+ * stalled server shows up in the percentiles instead of silently lowering the offered load.
+ * <p>
+ * Options are passed as {@code --name=value}, and a bare {@code --name} means {@code --name=true}; run with
+ * {@code --help} for the list and defaults.
+ */
+public final class LoadTest {
+    private static final Map<String, String> DEFAULTS = new HashMap<>();
+
+    static {
+        DEFAULTS.put("app-jar", "../target/caching-0.0.1-SNAPSHOT.jar");
+        DEFAULTS.put("app-port", "5055");
+        DEFAULTS.put("app-log", "load-test-app.log");
+        DEFAULTS.put("app-args", "");
+        DEFAULTS.put("stub-port", "0");
+        DEFAULTS.put("stub-latency", "lognormal:40:0.5");
+        DEFAULTS.put("stub-error-rate", "0");
+        DEFAULTS.put("rate", "200");
+        DEFAULTS.put("warmup", "10");
+        DEFAULTS.put("duration", "60");
+        DEFAULTS.put("reverse-ratio", "0.5");
+        DEFAULTS.put("addresses", "10000");
+        DEFAULTS.put("coordinates", "10000");
+        DEFAULTS.put("zipf", "1.0");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("timeout", "10");
+        DEFAULTS.put("histogram", "false");
+    }
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final URI appUri;
+    private final Duration requestTimeout;
+    private final Stats forwardStats = new Stats();
+    private final Stats reverseStats = new Stats();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.appUri = URI.create("http://127.0.0.1:" + options.get("app-port"));
+        this.requestTimeout = Duration.ofSeconds(Long.parseLong(options.get("timeout")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options == null) {
+            usage();
+            return;
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        PositionstackStub stub = new PositionstackStub(Integer.parseInt(options.get("stub-port")),
+                LatencyDistribution.parse(options.get("stub-latency")), Double.parseDouble(options.get("stub-error-rate")));
+        stub.start();
+        Process app = null;
+        try {
+            app = startApp(stub.port());
+            awaitReady(app);
+
+            Random random = new Random(Long.parseLong(options.get("seed")));
+            Workload workload = new Workload(random);
+
+            System.out.printf("Warming up for %ss at %s req/s%n", options.get("warmup"), options.get("rate"));
+            drive(workload, random, Long.parseLong(options.get("warmup")));
+            awaitInFlight();
+            forwardStats.reset();
+            reverseStats.reset();
+            stub.resetCounters();
+
+            System.out.printf("Measuring for %ss at %s req/s%n", options.get("duration"), options.get("rate"));
+            long start = System.nanoTime();
+            drive(workload, random, Long.parseLong(options.get("duration")));
+            awaitInFlight();
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            report(stub, elapsedSeconds);
+        } finally {
+            if (app != null) {
+                app.destroy();
+                if (!app.waitFor(10, TimeUnit.SECONDS)) {
+                    app.destroyForcibly();
+                }
+            }
+            stub.stop();
+        }
+    }
+
+    private Process startApp(int stubPort) throws IOException {
+        String stubBase = "http://127.0.0.1:" + stubPort;
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.add("-jar");
+        command.add(options.get("app-jar"));
+        command.add("--server.port=" + options.get("app-port"));
+        command.add("--geocoding-url=" + stubBase + "/v1/forward?access_key=stub&query=ADDRESS&timezone_module=1");
+        command.add("--reverse-geocoding-url=" + stubBase + "/v1/reverse?access_key=stub&query=LATITUDE,LONGITUDE&limit=1");
+        String extra = options.get("app-args").trim();
+        if (!extra.isEmpty()) {
+            command.addAll(Arrays.asList(extra.split("\\s+")));
+        }
+        System.out.printf("Stub listening on port %d, starting application: %s%n", stubPort, String.join(" ", command));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(new File(options.get("app-log")))
+                .start();
+    }
+
+    /**
+     * Waits until the application answers HTTP at all; the 404 from an unmapped path is enough and does not
+     * touch the caches or the stub.
+     */
+    private void awaitReady(Process app) throws InterruptedException {
+        HttpRequest probe = HttpRequest.newBuilder(appUri.resolve("/")).timeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + app.exitValue() + ", see " + options.get("app-log"));
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Application did not start within 120s, see " + options.get("app-log"));
+    }
+
+    private void drive(Workload workload, Random random, long seconds) {
+        double rate = Double.parseDouble(options.get("rate"));
+        double reverseRatio = Double.parseDouble(options.get("reverse-ratio"));
+        long intervalNanos = (long) (1e9 / rate);
+        long total = (long) (rate * seconds);
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean reverse = random.nextDouble() < reverseRatio;
+            send(reverse ? workload.reverseUri(random) : workload.forwardUri(random), reverse ? reverseStats : forwardStats, scheduled);
+        }
+    }
+
+    private void send(URI uri, Stats stats, long scheduledNanos) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(requestTimeout).build();
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long micros = (System.nanoTime() - scheduledNanos) / 1_000;
+                    stats.latency.record(micros);
+                    if (error == null && response.statusCode() == 200) {
+                        stats.ok.incrementAndGet();
+                    } else {
+                        stats.failed.incrementAndGet();
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (inFlight.get() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void report(PositionstackStub stub, double elapsedSeconds) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Elapsed %.1fs, stub latency %s, stub error rate %s%n",
+                elapsedSeconds, options.get("stub-latency"), options.get("stub-error-rate"));
+        System.out.printf("%-8s %9s %9s %9s %9s %9s %9s %9s %9s %9s %10s %9s%n",
+                "endpoint", "requests", "ok", "failed", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "upstream", "hit %");
+        printRow("forward", forwardStats, stub.forwardCalls(), elapsedSeconds);
+        printRow("reverse", reverseStats, stub.reverseCalls(), elapsedSeconds);
+        System.out.printf("Upstream calls: forward %d, reverse %d, injected errors %d%n",
+                stub.forwardCalls(), stub.reverseCalls(), stub.injectedErrors());
+        if (Boolean.parseBoolean(options.get("histogram"))) {
+            printHistogram("forward", forwardStats.latency);
+            printHistogram("reverse", reverseStats.latency);
+        }
+    }
+
+    /**
+     * Prints one result row. The hit ratio counts every request the application served without calling the
+     * stub, so local geocoder answers count as hits alongside cache hits.
+     */
+    private static void printRow(String name, Stats stats, long upstreamCalls, double elapsedSeconds) {
+        long requests = stats.latency.count();
+        double hitRatio = requests == 0 ? 0 : Math.max(0, 1 - (double) upstreamCalls / requests);
+        System.out.printf(Locale.ROOT, "%-8s %9d %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %10d %9.1f%n",
+                name, requests, stats.ok.get(), stats.failed.get(), requests / elapsedSeconds,
+                stats.latency.percentile(50) / 1000.0, stats.latency.percentile(90) / 1000.0,
+                stats.latency.percentile(99) / 1000.0, stats.latency.percentile(99.9) / 1000.0,
+                stats.latency.max() / 1000.0, upstreamCalls, hitRatio * 100);
+    }
+
+    /**
+     * Prints every non-empty histogram bucket with its cumulative share and the complementary CDF, the
+     * fraction of requests slower than the bucket, so the whole tail can be plotted rather than a few
+     * percentiles.
+     */
+    private static void printHistogram(String name, LatencyHistogram histogram) {
+        long total = histogram.count();
+        System.out.println();
+        System.out.printf("%s latency histogram%n", name);
+        System.out.printf("%12s %10s %10s %12s%n", "<= ms", "count", "cum %", "ccdf");
+        if (total == 0) {
+            return;
+        }
+        long[] seen = new long[1];
+        histogram.forEachBucket((upperBoundMicros, count) -> {
+            seen[0] += count;
+            System.out.printf(Locale.ROOT, "%12.3f %10d %10.3f %12.6f%n", upperBoundMicros / 1000.0, count,
+                    100.0 * seen[0] / total, (double) (total - seen[0]) / total);
+        });
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (arg.equals("--help") || !arg.startsWith("--")) {
+                return null;
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg.substring(2) : arg.substring(2, equals);
+            if (!DEFAULTS.containsKey(name)) {
+                System.err.println("Unknown option: " + name);
+                return null;
+            }
+            options.put(name, equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+        return options;
+    }
+
+    private static void usage() {
+        System.out.println("Usage: java -jar caching-load-test.jar [--name=value ...]");
+        DEFAULTS.keySet().stream().sorted().forEach(name ->
+                System.out.printf("  --%-16s default: %s%n", name, DEFAULTS.get(name)));
+    }
+
+    /**
+     * Zipfian key spaces for both endpoints. Addresses and coordinates are fixed up front so repeated draws
+     * of the same rank hit the same cache key.
+     */
+    private final class Workload {
+        private final String[] addresses;
+        private final String[] coordinates;
+        private final ZipfGenerator addressRanks;
+        private final ZipfGenerator coordinateRanks;
+
+        private Workload(Random random) {
+            double exponent = Double.parseDouble(options.get("zipf"));
+            addresses = new String[Integer.parseInt(options.get("addresses"))];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = URLEncoder.encode(i + " Load Test Street, City " + (i % 97), StandardCharsets.UTF_8);
+            }
+            coordinates = new String[Integer.parseInt(options.get("coordinates"))];
+            for (int i = 0; i < coordinates.length; i++) {
+                double latitude = Math.round((random.nextDouble() * 160 - 80) * 1e4) / 1e4;
+                double longitude = Math.round((random.nextDouble() * 340 - 170) * 1e4) / 1e4;
+                coordinates[i] = "latitude=" + latitude + "&longitude=" + longitude;
+            }
+            addressRanks = new ZipfGenerator(addresses.length, exponent);
+            coordinateRanks = new ZipfGenerator(coordinates.length, exponent);
+        }
+
+        private URI forwardUri(Random random) {
+            return appUri.resolve("/api/geocoding?address=" + addresses[addressRanks.next(random)]);
+        }
+
+        private URI reverseUri(Random random) {
+            return appUri.resolve("/reverse-geocoding?" + coordinates[coordinateRanks.next(random)]);
+        }
+    }
+
+    private static final class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        private void reset() {
+            latency.reset();
+            ok.set(0);
+            failed.set(0);
+        }
+    }
+
+    private static String javaExecutable() {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+}
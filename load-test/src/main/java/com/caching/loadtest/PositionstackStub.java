@@ -0,0 +1,163 @@
+package com.caching.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for positionstack's {@code /v1/forward} and {@code /v1/reverse} endpoints.
+ * <p>
+ * Each request is delayed by a draw from the configured {@link LatencyDistribution} and fails with HTTP 500
+ * with the configured probability. Successful responses are deterministic: a forward query always maps to
+ * the same coordinates and carries the query as its label, and a reverse query echoes its coordinates with
+ * a synthetic label, so the application's caches see stable values.
+ */
+public final class PositionstackStub {
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final AtomicLong forwardCalls = new AtomicLong();
+    private final AtomicLong reverseCalls = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    public PositionstackStub(int port, LatencyDistribution latency, double errorRate) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/v1/forward", exchange -> handle(exchange, true));
+        server.createContext("/v1/reverse", exchange -> handle(exchange, false));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public long forwardCalls() {
+        return forwardCalls.get();
+    }
+
+    public long reverseCalls() {
+        return reverseCalls.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    /**
+     * Zeroes the call counters, typically after warm-up.
+     */
+    public void resetCounters() {
+        forwardCalls.set(0);
+        reverseCalls.set(0);
+        injectedErrors.set(0);
+    }
+
+    private void handle(HttpExchange exchange, boolean forward) throws IOException {
+        try {
+            (forward ? forwardCalls : reverseCalls).incrementAndGet();
+            Random random = ThreadLocalRandom.current();
+            sleep(latency.sampleMillis(random));
+            if (random.nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                respond(exchange, 500, "{\"error\":{\"code\":\"stub_error\",\"message\":\"Injected failure\"}}");
+                return;
+            }
+            String query = queryParameter(exchange, "query");
+            if (query == null) {
+                respond(exchange, 422, "{\"error\":{\"code\":\"validation_error\",\"message\":\"query is required\"}}");
+                return;
+            }
+            respond(exchange, 200, forward ? forwardBody(query) : reverseBody(query));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String forwardBody(String address) {
+        int hash = address.hashCode();
+        double latitude = ((hash & 0xFFFF) / 65535.0) * 160 - 80;
+        double longitude = (((hash >>> 16) & 0xFFFF) / 65535.0) * 340 - 170;
+        return "{\"data\":[{\"latitude\":" + format(latitude) + ",\"longitude\":" + format(longitude)
+                + ",\"type\":\"locality\",\"name\":" + quote(address) + ",\"confidence\":1"
+                + ",\"label\":" + quote(address) + "}]}";
+    }
+
+    private static String reverseBody(String query) {
+        String[] parts = query.split(",");
+        if (parts.length != 2) {
+            return "{\"data\":[]}";
+        }
+        String latitude = parts[0].trim();
+        String longitude = parts[1].trim();
+        String label = "Stub place " + latitude + "," + longitude;
+        return "{\"data\":[{\"latitude\":" + latitude + ",\"longitude\":" + longitude
+                + ",\"type\":\"venue\",\"distance\":0,\"name\":" + quote(label) + ",\"confidence\":1"
+                + ",\"label\":" + quote(label) + "}]}";
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && pair.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String quote(String text) {
+        return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.caching.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ranks in {@code [0, n)} with probability proportional to {@code 1 / (rank + 1)^exponent}, so a few
+ * keys are very hot and a long tail is rarely seen, as with real geocoding traffic.
+ */
+public final class ZipfGenerator {
+    private final double[] cumulative;
+
+    public ZipfGenerator(int n, double exponent) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Key count must be positive");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * Draws the next rank; rank 0 is the most popular.
+     *
+     * @param random the random source
+     * @return a rank in {@code [0, n)}
+     */
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.caching.caching;
+
+import com.caching.dto.out.Scored;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Per-entry TTL that keeps results the upstream API was confident about for longer. A value with confidence
+ * {@code c} in [0, 1] lives {@code 1 + (multiplier - 1) * c} times the cache's write TTL, so a fully confident
+ * result lives {@code multiplier} times as long and a zero-confidence one gets the plain write TTL. Values
+ * without a confidence, such as answers from the local datasets, also get the plain write TTL.
+ */
+@Getter
+@ToString
+public class ConfidenceTtl implements ExpiryPolicy.EntryTtl {
+    private final double multiplier;
+
+    public ConfidenceTtl(double multiplier) {
+        if (!(multiplier >= 1)) {
+            throw new IllegalArgumentException("Confidence TTL multiplier must be at least 1");
+        }
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public long ttlMillis(Object value, long writeTtlMillis) {
+        if (!(value instanceof Scored)) {
+            return 0;
+        }
+        double confidence = ((Scored) value).getConfidence();
+        if (Double.isNaN(confidence)) {
+            return 0;
+        }
+        return scale(writeTtlMillis, Math.max(0, Math.min(1, confidence)));
+    }
+
+    @Override
+    public long maxTtlMillis(long writeTtlMillis) {
+        return scale(writeTtlMillis, 1);
+    }
+
+    private long scale(long writeTtlMillis, double confidence) {
+        return (long) Math.min(Long.MAX_VALUE, writeTtlMillis * (1 + (multiplier - 1) * confidence));
+    }
+}
@@ -0,0 +1,835 @@
+package com.caching.caching;
+
+import com.caching.constant.Constants;
+import com.caching.dto.out.CacheEntrySnapshot;
+import com.caching.dto.out.Coordinate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Compact cache specialised for {@link Coordinate} values.
+ * <p>
+ * Instead of one entry object, one wrapper and one {@code Coordinate} per key, every field lives in
+ * parallel primitive arrays indexed by slot, 26 bytes per slot with compressed references:
+ * <ul>
+ *     <li>the key reference and its hash;</li>
+ *     <li>latitude and longitude as fixed-point ints in units of 1e-7 degrees (about 1 cm), so coordinates
+ *     with up to seven decimals round-trip exactly;</li>
+ *     <li>write deadline and last access time as int seconds since the cache was created, which together with
+ *     the cache's {@link ExpiryPolicy} decide expiry at one-second resolution;</li>
+ *     <li>a read counter that saturates at {@link Short#MAX_VALUE}.</li>
+ * </ul>
+ * Slots are located with open addressing (linear probing) over a table sized to a 0.75 load factor, and the
+ * stored key is compared with {@code equals} so that hash collisions never return the wrong coordinate.
+ * Removal uses backward-shift deletion, so the table never accumulates tombstones.
+ * <p>
+ * Reads take no lock: they run optimistically against a {@link StampedLock} and retry under the read lock
+ * only if a writer intervened. The access time and read counter are then updated without the lock; a racing
+ * removal can drop or misattribute such an update, which only affects eviction order and statistics, never
+ * the coordinate returned. Writers hold the write lock for a single insert or removal. Expiry sweeps visit
+ * the table in fixed-size chunks and release the lock between chunks, and bulk invalidation tests keys
+ * outside the lock.
+ * <p>
+ * When the cache is full an approximate LRU victim is chosen by sampling a handful of occupied slots
+ * and evicting the one with the oldest access time. With small capacities the sample covers the whole
+ * table and eviction is exact.
+ * <p>
+ * As a {@link ManagedCache} the cache can be resized at runtime. Growing past the table's load factor
+ * rehashes into larger arrays once; shrinking keeps the table and evicts the surplus in small batches on
+ * the scheduler thread, each holding the lock only briefly.
+ */
+@Slf4j
+public class CoordinateCache implements ManagedCache {
+    private static final int EVICTION_SAMPLES = 8;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int SHRINK_BATCH_SIZE = 256;
+    private static final int INVALIDATE_BATCH_SIZE = 256;
+    private static final long SHRINK_INTERVAL_MILLIS = 10;
+    private static final int SWEEP_CHUNK_SIZE = 4096;
+    private static final double FIXED_POINT_SCALE = 1e7;
+    private static final int NEVER = Integer.MAX_VALUE;
+
+    private final String name;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final long baseMillis;
+    private final StampedLock lock = new StampedLock();
+    private volatile int maxSize;
+    private volatile ExpiryPolicy expiryPolicy;
+    private ScheduledFuture<?> cleanupTask;
+
+    private volatile Table table;
+    private volatile int size;
+
+    public CoordinateCache(String name, int maxSize, ExpiryPolicy expiryPolicy) {
+        this(name, maxSize, expiryPolicy, System::currentTimeMillis);
+    }
+
+    CoordinateCache(String name, int maxSize, ExpiryPolicy expiryPolicy, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.expiryPolicy = expiryPolicy;
+        this.clock = clock;
+        this.baseMillis = clock.getAsLong();
+        this.table = new Table(capacityFor(maxSize));
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.cleanupTask = scheduleCleanup(expiryPolicy);
+        log.info(Constants.COORDINATE_CACHE_INITIALISATION, name, maxSize, table.capacity, expiryPolicy);
+    }
+
+    /**
+     * Returns the name of the cache.
+     *
+     * @return the cache's name
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the underlying native cache instance. The storage is a set of arrays owned by this
+     * object, so the cache itself is returned.
+     *
+     * @return this cache
+     */
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    /**
+     * Retrieves the coordinate for a given key from the cache.
+     *
+     * @param key the key to look up
+     * @return a ValueWrapper containing a Coordinate, or null if not found or expired
+     */
+    @Override
+    public ValueWrapper get(Object key) {
+        Coordinate coordinate = lookup(key);
+        if (coordinate == null) {
+            log.debug(Constants.CACHE_MISS, key, name);
+            return null;
+        }
+        log.debug(Constants.CACHE_HIT, key, name);
+        return () -> coordinate;
+    }
+
+    /**
+     * Retrieves the coordinate for a given key and returns it as the specified type.
+     *
+     * @param key  the key to look up
+     * @param type the class type to cast the value to
+     * @param <T>  the type of the value
+     * @return the value of the requested type, or null if not found or expired
+     */
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        Coordinate coordinate = lookup(key);
+        if (coordinate == null) {
+            log.debug(Constants.MISS_EXPIRED, key, name);
+            return null;
+        }
+        log.debug(Constants.CACHE_HIT, key, name);
+        return type.cast(coordinate);
+    }
+
+    /**
+     * Retrieves the coordinate for a given key using a value loader function if the key is not found or expired.
+     *
+     * @param key         the key to look up
+     * @param valueLoader a callable that loads the value if it's not in the cache
+     * @param <T>         the type of the value
+     * @return the value loaded by the valueLoader, or null if an error occurs
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        T value = (T) lookup(key);
+        if (value == null) {
+            try {
+                value = valueLoader.call();
+                put(key, value);
+            } catch (Exception e) {
+                log.error(Constants.ERROR_LOADING, key, name, e);
+                return null;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Stores a coordinate for the given key. If the cache is full an approximately least recently used
+     * entry is evicted first.
+     *
+     * @param key   the key for the cache entry
+     * @param value the Coordinate to store
+     * @throws IllegalArgumentException if the value is not a Coordinate
+     */
+    @Override
+    public void put(Object key, Object value) {
+        store(key, value, false);
+    }
+
+    /**
+     * Stores a coordinate only if the key has no live entry. The check and the insert happen under one
+     * write lock, and an existing entry's access time and read counter are left untouched, so seeding the
+     * cache does not make an entry look recently used.
+     *
+     * @param key   the key for the cache entry
+     * @param value the Coordinate to store
+     * @return the existing coordinate, or null if the value was stored
+     * @throws IllegalArgumentException if the value is not a Coordinate
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Coordinate existing = store(key, value, true);
+        return existing == null ? null : () -> existing;
+    }
+
+    /**
+     * Stores a coordinate only if the key has no live entry and the cache has room. The seed is given an access
+     * time just before the oldest among a few sampled live entries, so it sits at the least recently used end.
+     *
+     * @param key   the key for the cache entry
+     * @param value the Coordinate to store
+     * @return true if the value was stored
+     * @throws IllegalArgumentException if the value is not a Coordinate
+     */
+    @Override
+    public boolean seed(Object key, Object value) {
+        Coordinate coordinate = toCoordinate(value);
+        int hash = spread(key.hashCode());
+        long now = clock.getAsLong();
+        int deadline = deadlineSeconds(expiryPolicy.writeDeadline(coordinate, now));
+        int currentSize;
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.find(key, hash);
+            if (slot >= 0 ? read(current, slot, now) != null : size >= maxSize) {
+                return false;
+            }
+            int accessedAt = seedAccessTime(current, now);
+            if (slot < 0) {
+                slot = occupy(current, key, hash);
+            }
+            current.hits[slot] = 0;
+            write(current, slot, coordinate, accessedAt, deadline);
+            currentSize = size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.debug(Constants.STORED_KEY, key, name, currentSize);
+        return true;
+    }
+
+    /**
+     * Inserts or overwrites an entry. With {@code onlyIfAbsent} a live entry is kept and its coordinate
+     * returned instead; an expired one is replaced as if it were absent.
+     */
+    private Coordinate store(Object key, Object value, boolean onlyIfAbsent) {
+        Coordinate coordinate = toCoordinate(value);
+        int hash = spread(key.hashCode());
+        long now = clock.getAsLong();
+        int deadline = deadlineSeconds(expiryPolicy.writeDeadline(coordinate, now));
+        int currentSize;
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.find(key, hash);
+            if (slot >= 0 && onlyIfAbsent) {
+                Coordinate existing = read(current, slot, now);
+                if (existing != null) {
+                    return existing;
+                }
+                current.hits[slot] = 0;
+            }
+            if (slot < 0) {
+                if (size >= maxSize) {
+                    removeLeastRecentlyUsed();
+                }
+                slot = occupy(current, key, hash);
+                current.hits[slot] = 0;
+            }
+            write(current, slot, coordinate, accessSeconds(now), deadline);
+            currentSize = size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.debug(Constants.STORED_KEY, key, name, currentSize);
+        return null;
+    }
+
+    private Coordinate toCoordinate(Object value) {
+        if (!(value instanceof Coordinate)) {
+            throw new IllegalArgumentException("Cache '" + name + "' only stores Coordinate values");
+        }
+        return (Coordinate) value;
+    }
+
+    /**
+     * Claims a free slot for a new key. Called with the write lock held.
+     */
+    private int occupy(Table current, Object key, int hash) {
+        int slot = current.free(hash);
+        current.keys[slot] = key;
+        current.hashes[slot] = hash;
+        size++;
+        return slot;
+    }
+
+    private void write(Table current, int slot, Coordinate coordinate, int accessedAt, int deadline) {
+        current.latitudes[slot] = toFixedPoint(coordinate.getLatitude());
+        current.longitudes[slot] = toFixedPoint(coordinate.getLongitude());
+        current.accessedAt[slot] = accessedAt;
+        current.expiresAt[slot] = deadline;
+    }
+
+    /**
+     * Removes the entry for a given key from the cache.
+     *
+     * @param key the key to remove from the cache
+     */
+    @Override
+    public void evict(Object key) {
+        int hash = spread(key.hashCode());
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int slot = current.find(key, hash);
+            if (slot >= 0) {
+                removeSlot(current, slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.debug(Constants.EVICTED_KEY, key, name);
+    }
+
+    /**
+     * Clears all entries from the cache.
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(table.keys, null);
+            size = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.info(Constants.CLEARING_ENTRY, name);
+    }
+
+    /**
+     * Looks up a live entry and refreshes its access time. The write deadline is left untouched.
+     * <p>
+     * The slot is first read optimistically; if a writer held the lock meanwhile the read is repeated under
+     * the read lock. The access time and counter are bumped afterwards without the lock.
+     */
+    private Coordinate lookup(Object key) {
+        int hash = spread(key.hashCode());
+        long now = clock.getAsLong();
+        long stamp = lock.tryOptimisticRead();
+        Table current = table;
+        int slot = current.find(key, hash);
+        Coordinate coordinate = slot < 0 ? null : read(current, slot, now);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = table;
+                slot = current.find(key, hash);
+                coordinate = slot < 0 ? null : read(current, slot, now);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (coordinate == null) {
+            return null;
+        }
+        current.accessedAt[slot] = accessSeconds(now);
+        if (current.hits[slot] < Short.MAX_VALUE) {
+            current.hits[slot]++;
+        }
+        return coordinate;
+    }
+
+    /**
+     * Decodes the coordinate in a slot, or returns null if the entry has expired.
+     */
+    private Coordinate read(Table current, int slot, long now) {
+        long writeDeadline = toMillis(current.expiresAt[slot]);
+        long lastAccess = toMillis(current.accessedAt[slot]);
+        if (expiryPolicy.isExpired(writeDeadline, lastAccess, now)) {
+            log.debug(Constants.ENTRY_EXPIRED, now, writeDeadline, lastAccess);
+            return null;
+        }
+        return new Coordinate(fromFixedPoint(current.latitudes[slot]), fromFixedPoint(current.longitudes[slot]));
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the current size
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the current maximum size
+     */
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of entries. Growing beyond the table's load factor rehashes into larger
+     * arrays, which are allocated before the write lock is taken so that readers only wait for the entries to
+     * be copied; any surplus after shrinking is evicted in batches on the scheduler thread.
+     *
+     * @param maxSize the new maximum size
+     */
+    @Override
+    public void resize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        int capacity = capacityFor(maxSize);
+        Table resized = capacity > table.capacity ? new Table(capacity) : null;
+        int previous;
+        boolean shrink;
+        long stamp = lock.writeLock();
+        try {
+            previous = this.maxSize;
+            if (resized != null && resized.capacity > table.capacity) {
+                rehash(resized);
+            }
+            this.maxSize = maxSize;
+            shrink = size > maxSize;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.info(Constants.CACHE_RESIZED, name, previous, maxSize);
+        if (shrink) {
+            scheduler.execute(this::shrinkToMaxSize);
+        }
+    }
+
+    /**
+     * Returns the expiry policy in force.
+     *
+     * @return the expiry policy
+     */
+    @Override
+    public ExpiryPolicy getExpiryPolicy() {
+        return expiryPolicy;
+    }
+
+    /**
+     * Replaces the expiry policy, reschedules the cleanup task for the new TTLs and brings forward any
+     * write deadline that lies beyond the new write TTL.
+     *
+     * @param expiryPolicy the new expiry policy
+     */
+    @Override
+    public synchronized void setExpiryPolicy(ExpiryPolicy expiryPolicy) {
+        this.expiryPolicy = expiryPolicy;
+        cleanupTask.cancel(false);
+        cleanupTask = scheduleCleanup(expiryPolicy);
+        scheduler.execute(() -> clampWriteDeadlines(expiryPolicy));
+        log.info(Constants.EXPIRY_CHANGED, name, expiryPolicy);
+    }
+
+    /**
+     * Removes all entries whose key matches the predicate. The keys are copied under the read lock and the
+     * predicate runs on the copy without any lock, so a slow predicate never blocks other threads; matching
+     * keys are then removed in batches, each under a short write lock. If the predicate throws, nothing is
+     * removed.
+     *
+     * @param keyPredicate the test applied to each key
+     * @return the number of removed entries
+     */
+    @Override
+    public int invalidateIf(Predicate<Object> keyPredicate) {
+        Object[] keys;
+        long stamp = lock.readLock();
+        try {
+            keys = table.keys.clone();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        List<Object> matches = new ArrayList<>();
+        for (Object key : keys) {
+            if (key != null && keyPredicate.test(key)) {
+                matches.add(key);
+            }
+        }
+        int removed = 0;
+        for (int from = 0; from < matches.size(); from += INVALIDATE_BATCH_SIZE) {
+            int to = Math.min(matches.size(), from + INVALIDATE_BATCH_SIZE);
+            stamp = lock.writeLock();
+            try {
+                Table current = table;
+                for (Object key : matches.subList(from, to)) {
+                    int slot = current.find(key, spread(key.hashCode()));
+                    if (slot >= 0) {
+                        removeSlot(current, slot);
+                        removed++;
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        log.info(Constants.INVALIDATED, removed, name);
+        return removed;
+    }
+
+    /**
+     * Samples up to {@code sampleSize} entries from a random point in the table and returns the most read ones.
+     *
+     * @param limit      the maximum number of entries to return
+     * @param sampleSize the maximum number of entries to inspect
+     * @return the sampled entries, most read first
+     */
+    @Override
+    public List<CacheEntrySnapshot> hottest(int limit, int sampleSize) {
+        List<CacheEntrySnapshot> sample = new ArrayList<>();
+        long stamp = lock.readLock();
+        try {
+            Table current = table;
+            int start = ThreadLocalRandom.current().nextInt(current.capacity);
+            for (int i = 0; i < current.capacity && sample.size() < sampleSize; i++) {
+                int slot = (start + i) % current.capacity;
+                if (current.keys[slot] != null) {
+                    sample.add(new CacheEntrySnapshot(String.valueOf(current.keys[slot]), current.hits[slot],
+                            toMillis(current.accessedAt[slot]), toMillis(current.expiresAt[slot])));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return sample.stream()
+                .sorted(Comparator.comparingLong(CacheEntrySnapshot::getHits).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Periodically removes expired entries. Runs on the cache's scheduler thread.
+     */
+    void cleanupExpiredEntries() {
+        int removedCount = sweep((current, slot, now) -> {
+            if (!expiryPolicy.isExpired(toMillis(current.expiresAt[slot]), toMillis(current.accessedAt[slot]), now)) {
+                return false;
+            }
+            log.debug(Constants.REMOVING_ENTRY, current.keys[slot], name);
+            return true;
+        });
+        if (removedCount > 0) {
+            log.info(Constants.CLEANING, removedCount, name);
+        }
+    }
+
+    private void clampWriteDeadlines(ExpiryPolicy policy) {
+        long latestMillis = policy.latestWriteDeadline(clock.getAsLong());
+        if (latestMillis == Long.MAX_VALUE) {
+            return;
+        }
+        int latest = deadlineSeconds(latestMillis);
+        sweep((current, slot, now) -> {
+            if (current.expiresAt[slot] > latest) {
+                current.expiresAt[slot] = latest;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Visits every occupied slot and removes those the action selects. The table is walked in chunks of
+     * {@link #SWEEP_CHUNK_SIZE} slots and the write lock is released between chunks, so request threads wait
+     * for at most one chunk. Entries that backward shifts move across a chunk boundary in between may be
+     * skipped and are picked up by the next sweep; a sweep that finds the table rehashed stops early.
+     *
+     * @return the number of removed entries
+     */
+    private int sweep(SlotAction action) {
+        Table swept = table;
+        int removed = 0;
+        int slot = 0;
+        while (slot < swept.capacity) {
+            long stamp = lock.writeLock();
+            try {
+                if (table != swept) {
+                    break;
+                }
+                long now = clock.getAsLong();
+                int end = Math.min(slot + SWEEP_CHUNK_SIZE, swept.capacity);
+                while (slot < end) {
+                    if (swept.keys[slot] != null && action.removes(swept, slot, now)) {
+                        removeSlot(swept, slot);
+                        removed++;
+                        // backward shift may have moved another entry into this slot, so re-check it
+                    } else {
+                        slot++;
+                    }
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Evicts one batch of approximately least recently used entries above the maximum size and reschedules
+     * itself until the cache fits, so request threads never wait on a large shrink.
+     */
+    private void shrinkToMaxSize() {
+        boolean more;
+        int evicted = 0;
+        int currentSize;
+        int currentMaxSize;
+        long stamp = lock.writeLock();
+        try {
+            while (size > maxSize && evicted < SHRINK_BATCH_SIZE) {
+                removeLeastRecentlyUsed();
+                evicted++;
+            }
+            more = size > maxSize;
+            currentSize = size;
+            currentMaxSize = maxSize;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        log.debug(Constants.SHRINK_BATCH, evicted, name, currentSize, currentMaxSize);
+        if (more) {
+            scheduler.schedule(this::shrinkToMaxSize, SHRINK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private ScheduledFuture<?> scheduleCleanup(ExpiryPolicy policy) {
+        long cleanupInterval = policy.cleanupIntervalMillis();
+        return scheduler.scheduleAtFixedRate(this::cleanupExpiredEntries, cleanupInterval, cleanupInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Moves every entry into the given empty table and installs it. Called with the write lock held.
+     */
+    private void rehash(Table resized) {
+        Table old = table;
+        for (int slot = 0; slot < old.capacity; slot++) {
+            if (old.keys[slot] != null) {
+                old.copy(slot, resized, resized.free(old.hashes[slot]));
+            }
+        }
+        table = resized;
+    }
+
+    /**
+     * Evicts the entry with the oldest access time among a few sampled slots. Called with the write lock held.
+     */
+    private void removeLeastRecentlyUsed() {
+        Table current = table;
+        int start = ThreadLocalRandom.current().nextInt(current.capacity);
+        int victim = -1;
+        int sampled = 0;
+        for (int i = 0; i < current.capacity && sampled < EVICTION_SAMPLES; i++) {
+            int slot = (start + i) % current.capacity;
+            if (current.keys[slot] != null) {
+                sampled++;
+                if (victim < 0 || current.accessedAt[slot] < current.accessedAt[victim]) {
+                    victim = slot;
+                }
+            }
+        }
+        if (victim >= 0) {
+            Object lruKey = current.keys[victim];
+            removeSlot(current, victim);
+            log.info(Constants.REMOVED_FROM_CACHE, lruKey, name);
+        }
+    }
+
+    /**
+     * Returns an access time one second before the oldest among a few sampled live entries, or now if none is
+     * found. Called with the write lock held.
+     */
+    private int seedAccessTime(Table current, long now) {
+        int oldest = Integer.MAX_VALUE;
+        int start = ThreadLocalRandom.current().nextInt(current.capacity);
+        int sampled = 0;
+        for (int i = 0; i < current.capacity && sampled < EVICTION_SAMPLES; i++) {
+            int slot = (start + i) % current.capacity;
+            if (current.keys[slot] != null && read(current, slot, now) != null) {
+                sampled++;
+                oldest = Math.min(oldest, current.accessedAt[slot]);
+            }
+        }
+        return sampled > 0 ? oldest - 1 : accessSeconds(now);
+    }
+
+    private void removeSlot(Table current, int slot) {
+        current.remove(slot);
+        size--;
+    }
+
+    private int accessSeconds(long millis) {
+        return (int) Math.min(NEVER - 1, Math.floorDiv(millis - baseMillis, 1000));
+    }
+
+    private int deadlineSeconds(long deadlineMillis) {
+        if (deadlineMillis == Long.MAX_VALUE) {
+            return NEVER;
+        }
+        return (int) Math.min(NEVER - 1, -Math.floorDiv(baseMillis - deadlineMillis, 1000));
+    }
+
+    private long toMillis(int seconds) {
+        return seconds == NEVER ? Long.MAX_VALUE : baseMillis + seconds * 1000L;
+    }
+
+    private static int toFixedPoint(double degrees) {
+        return (int) Math.round(degrees * FIXED_POINT_SCALE);
+    }
+
+    private static double fromFixedPoint(int value) {
+        return value / FIXED_POINT_SCALE;
+    }
+
+    /**
+     * Mixes the key hash so that its high bits, which pick the home slot, depend on every input bit.
+     */
+    private static int spread(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private static int capacityFor(int maxSize) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(maxSize / (double) LOAD_FACTOR) + 1);
+    }
+
+    @FunctionalInterface
+    private interface SlotAction {
+        /**
+         * Inspects an occupied slot with the write lock held and returns true if the entry should be removed.
+         */
+        boolean removes(Table table, int slot, long now);
+    }
+
+    /**
+     * The slot arrays. The capacity need not be a power of two: the home slot is taken from the high bits of
+     * the hash with a multiply-shift, so the table can be sized to the load factor exactly.
+     */
+    private static final class Table {
+        private final int capacity;
+        private final Object[] keys;
+        private final int[] hashes;
+        private final int[] latitudes;
+        private final int[] longitudes;
+        private final int[] expiresAt;
+        private final int[] accessedAt;
+        private final short[] hits;
+
+        private Table(int capacity) {
+            this.capacity = capacity;
+            this.keys = new Object[capacity];
+            this.hashes = new int[capacity];
+            this.latitudes = new int[capacity];
+            this.longitudes = new int[capacity];
+            this.expiresAt = new int[capacity];
+            this.accessedAt = new int[capacity];
+            this.hits = new short[capacity];
+        }
+
+        private int home(int hash) {
+            return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+        }
+
+        private int next(int slot) {
+            return slot + 1 == capacity ? 0 : slot + 1;
+        }
+
+        /**
+         * Returns the slot holding the key, or -1. Safe to call without the lock: a concurrent writer can make
+         * the answer wrong but never throw or loop forever, and optimistic readers discard such answers.
+         */
+        private int find(Object key, int hash) {
+            int slot = home(hash);
+            for (int probes = 0; probes < capacity; probes++) {
+                Object candidate = keys[slot];
+                if (candidate == null) {
+                    return -1;
+                }
+                if (hashes[slot] == hash && candidate.equals(key)) {
+                    return slot;
+                }
+                slot = next(slot);
+            }
+            return -1;
+        }
+
+        private int free(int hash) {
+            int slot = home(hash);
+            while (keys[slot] != null) {
+                slot = next(slot);
+            }
+            return slot;
+        }
+
+        private void copy(int from, Table target, int to) {
+            target.keys[to] = keys[from];
+            target.hashes[to] = hashes[from];
+            target.latitudes[to] = latitudes[from];
+            target.longitudes[to] = longitudes[from];
+            target.expiresAt[to] = expiresAt[from];
+            target.accessedAt[to] = accessedAt[from];
+            target.hits[to] = hits[from];
+        }
+
+        /**
+         * Backward-shift deletion: pulls later entries of the same probe run into the freed slot so that
+         * lookups never stop early at a hole.
+         */
+        private void remove(int slot) {
+            int hole = slot;
+            int next = next(hole);
+            while (keys[next] != null) {
+                if (distance(home(hashes[next]), next) >= distance(hole, next)) {
+                    copy(next, this, hole);
+                    hole = next;
+                }
+                next = next(next);
+            }
+            keys[hole] = null;
+        }
+
+        private int distance(int from, int to) {
+            int distance = to - from;
+            return distance < 0 ? distance + capacity : distance;
+        }
+    }
+}
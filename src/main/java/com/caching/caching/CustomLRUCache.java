@@ -1,36 +1,53 @@
 package com.caching.caching;
 
 import com.caching.constant.Constants;
+import com.caching.dto.out.CacheEntrySnapshot;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Custom implementation of an LRU (Least Recently Used) cache with a Time-To-Live (TTL) feature.
  * This cache evicts the least recently used entry when the cache exceeds the maximum size, and it also
- * removes expired entries based on the TTL.
+ * removes expired entries according to its {@link ExpiryPolicy}.
  * <p>
  * This class supports basic cache operations such as `put`, `get`, `evict`, and `clear`,
- * and it also handles automatic cleanup of expired cache entries.
+ * and it also handles automatic cleanup of expired cache entries. As a {@link ManagedCache} its size
+ * and expiry can be changed at runtime; shrinking evicts in batches on the scheduler thread, from a queue of
+ * victims that puts also draw from while the shrink runs.
  */
 @Slf4j
-public class CustomLRUCache implements Cache {
+public class CustomLRUCache implements ManagedCache {
+    private static final int SHRINK_BATCH_SIZE = 256;
+    private static final long SHRINK_INTERVAL_MILLIS = 10;
+
     private final String name;
-    private final int maxSize;
-    private final long ttlMillis;
+    private volatile int maxSize;
+    private volatile ExpiryPolicy expiryPolicy;
     private final Map<Object, CacheEntry> cache;
     private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> cleanupTask;
+    private final AtomicBoolean shrinking = new AtomicBoolean();
+    private final Queue<Map.Entry<Object, CacheEntry>> shrinkVictims = new ConcurrentLinkedQueue<>();
 
-    public CustomLRUCache(String name, int maxSize, long ttlMillis) {
+    public CustomLRUCache(String name, int maxSize, ExpiryPolicy expiryPolicy) {
         this.name = name;
         this.maxSize = maxSize;
-        this.ttlMillis = ttlMillis;
+        this.expiryPolicy = expiryPolicy;
         this.cache = new ConcurrentHashMap<>();
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
-        this.scheduler.scheduleAtFixedRate(this::cleanupExpiredEntries, ttlMillis, ttlMillis, TimeUnit.MILLISECONDS);
-        log.info(Constants.INITIALISATION, name, maxSize, ttlMillis);
+        this.cleanupTask = scheduleCleanup(expiryPolicy);
+        log.info(Constants.INITIALISATION, name, maxSize, expiryPolicy);
     }
 
     /**
@@ -67,6 +84,7 @@ public class CustomLRUCache implements Cache {
             return null;
         }
         entry.lastAccessTime = System.currentTimeMillis();
+        entry.hits++;
         log.debug(Constants.CACHE_HIT, key, name);
         return () -> entry.value;
     }
@@ -87,6 +105,7 @@ public class CustomLRUCache implements Cache {
             return null;
         }
         entry.lastAccessTime = System.currentTimeMillis();
+        entry.hits++;
         log.debug("Cache hit for key: {} in cache '{}'", key, name);
         return (T) entry.value;
     }
@@ -116,6 +135,7 @@ public class CustomLRUCache implements Cache {
 
     /**
      * Adds a key-value pair to the cache. If the cache exceeds the maximum size, the least recently used entry is evicted.
+     * While a shrink is in progress the next of its pre-selected victims is evicted instead of scanning the cache.
      *
      * @param key   the key for the cache entry
      * @param value the value to store in the cache
@@ -123,11 +143,62 @@ public class CustomLRUCache implements Cache {
     @Override
     public void put(Object key, Object value) {
         if (cache.size() >= maxSize) {
-            removeLeastRecentlyUsed();
+            makeRoom(key);
         }
 
-        cache.put(key, new CacheEntry(value, System.currentTimeMillis()));
+        long now = System.currentTimeMillis();
+        cache.put(key, new CacheEntry(value, now, expiryPolicy.writeDeadline(value, now)));
+        log.debug(Constants.STORED_KEY, key, name, cache.size());
+    }
+
+    /**
+     * Adds a key-value pair only if the key has no live entry. The check and the insert are one atomic map
+     * operation, and an existing entry's access time and read counter are left untouched, so seeding the
+     * cache does not make an entry look recently used. An expired entry is replaced as if it were absent.
+     *
+     * @param key   the key for the cache entry
+     * @param value the value to store in the cache
+     * @return the existing value, or null if the value was stored
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (cache.size() >= maxSize && !cache.containsKey(key)) {
+            makeRoom(key);
+        }
+        long now = System.currentTimeMillis();
+        CacheEntry created = new CacheEntry(value, now, expiryPolicy.writeDeadline(value, now));
+        CacheEntry stored = cache.compute(key, (k, current) -> current == null || isExpired(current) ? created : current);
+        if (stored != created) {
+            return () -> stored.value;
+        }
         log.debug(Constants.STORED_KEY, key, name, cache.size());
+        return null;
+    }
+
+    /**
+     * Stores a value only if the key has no live entry and the cache has room, with an access time just before
+     * the least recently used live entry's. The room check and the insert are one atomic map operation for the
+     * key.
+     *
+     * @param key   the key for the cache entry
+     * @param value the value to store in the cache
+     * @return true if the value was stored
+     */
+    @Override
+    public boolean seed(Object key, Object value) {
+        long now = System.currentTimeMillis();
+        CacheEntry created = new CacheEntry(value, seedAccessTime(now), expiryPolicy.writeDeadline(value, now));
+        CacheEntry stored = cache.compute(key, (k, current) -> {
+            if (current == null) {
+                return cache.size() < maxSize ? created : null;
+            }
+            return isExpired(current) ? created : current;
+        });
+        if (stored != created) {
+            return false;
+        }
+        log.debug(Constants.STORED_KEY, key, name, cache.size());
+        return true;
     }
 
     /**
@@ -151,7 +222,124 @@ public class CustomLRUCache implements Cache {
     }
 
     /**
-     * Periodically cleans up expired entries from the cache based on their TTL.
+     * Returns the number of entries in the cache.
+     *
+     * @return the current size
+     */
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the current maximum size
+     */
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Changes the maximum number of entries. Any surplus is evicted in batches on the scheduler thread.
+     *
+     * @param maxSize the new maximum size
+     */
+    @Override
+    public void resize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        int previous = this.maxSize;
+        this.maxSize = maxSize;
+        log.info(Constants.CACHE_RESIZED, name, previous, maxSize);
+        if (cache.size() > maxSize && shrinking.compareAndSet(false, true)) {
+            scheduler.execute(this::shrinkToMaxSize);
+        }
+    }
+
+    /**
+     * Returns the expiry policy in force.
+     *
+     * @return the expiry policy
+     */
+    @Override
+    public ExpiryPolicy getExpiryPolicy() {
+        return expiryPolicy;
+    }
+
+    /**
+     * Replaces the expiry policy, reschedules the cleanup task for the new TTLs and brings forward any
+     * write deadline that lies beyond the new write TTL.
+     *
+     * @param expiryPolicy the new expiry policy
+     */
+    @Override
+    public synchronized void setExpiryPolicy(ExpiryPolicy expiryPolicy) {
+        this.expiryPolicy = expiryPolicy;
+        cleanupTask.cancel(false);
+        cleanupTask = scheduleCleanup(expiryPolicy);
+        scheduler.execute(() -> clampWriteDeadlines(expiryPolicy));
+        log.info(Constants.EXPIRY_CHANGED, name, expiryPolicy);
+    }
+
+    /**
+     * Removes all entries whose key matches the predicate. The predicate runs over a copy of the key set
+     * before anything is removed, so if it throws the cache is left unchanged.
+     *
+     * @param keyPredicate the test applied to each key
+     * @return the number of removed entries
+     */
+    @Override
+    public int invalidateIf(Predicate<Object> keyPredicate) {
+        List<Object> matches = new ArrayList<>(cache.keySet()).stream()
+                .filter(keyPredicate)
+                .collect(Collectors.toList());
+        int removed = 0;
+        for (Object key : matches) {
+            if (cache.remove(key) != null) {
+                removed++;
+            }
+        }
+        log.info(Constants.INVALIDATED, removed, name);
+        return removed;
+    }
+
+    /**
+     * Draws a uniform random sample of up to {@code sampleSize} entries and returns the most read ones. The map
+     * has no positional access, so the sample is taken by reservoir sampling over one pass of the entries.
+     *
+     * @param limit      the maximum number of entries to return
+     * @param sampleSize the maximum number of entries to inspect
+     * @return the sampled entries, most read first
+     */
+    @Override
+    public List<CacheEntrySnapshot> hottest(int limit, int sampleSize) {
+        List<CacheEntrySnapshot> sample = new ArrayList<>(Math.min(sampleSize, cache.size()));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long seen = 0;
+        for (Map.Entry<Object, CacheEntry> entry : cache.entrySet()) {
+            seen++;
+            int slot = sample.size() < sampleSize ? sample.size() : (int) random.nextLong(seen);
+            if (slot < sampleSize) {
+                CacheEntrySnapshot snapshot = new CacheEntrySnapshot(String.valueOf(entry.getKey()),
+                        entry.getValue().hits, entry.getValue().lastAccessTime, entry.getValue().expiresAt);
+                if (slot == sample.size()) {
+                    sample.add(snapshot);
+                } else {
+                    sample.set(slot, snapshot);
+                }
+            }
+        }
+        return sample.stream()
+                .sorted(Comparator.comparingLong(CacheEntrySnapshot::getHits).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Periodically cleans up expired entries from the cache based on the expiry policy.
      * This method is run in a separate thread at a fixed rate.
      */
     private void cleanupExpiredEntries() {
@@ -170,21 +358,117 @@ public class CustomLRUCache implements Cache {
     }
 
     /**
-     * Checks if a cache entry is expired based on its TTL.
+     * Checks if a cache entry is expired based on the expiry policy.
      *
      * @param entry the cache entry to check
      * @return true if the entry is expired, false otherwise
      */
     private boolean isExpired(CacheEntry entry) {
-        boolean expired = System.currentTimeMillis() - entry.lastAccessTime > ttlMillis;
+        long now = System.currentTimeMillis();
+        boolean expired = expiryPolicy.isExpired(entry.expiresAt, entry.lastAccessTime, now);
         if (expired) {
-            log.debug(Constants.ENTRY_EXPIRED, System.currentTimeMillis(), entry.lastAccessTime, ttlMillis);
+            log.debug(Constants.ENTRY_EXPIRED, now, entry.expiresAt, entry.lastAccessTime);
         }
         return expired;
     }
 
-    private void removeLeastRecentlyUsed() {
-        Object lruKey = cache.entrySet().stream().min(Map.Entry.comparingByValue((a, b) -> Long.compare(a.lastAccessTime, b.lastAccessTime))).map(Map.Entry::getKey).orElse(null);
+    private ScheduledFuture<?> scheduleCleanup(ExpiryPolicy policy) {
+        long cleanupInterval = policy.cleanupIntervalMillis();
+        return scheduler.scheduleAtFixedRate(this::cleanupExpiredEntries, cleanupInterval, cleanupInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void clampWriteDeadlines(ExpiryPolicy policy) {
+        long latest = policy.latestWriteDeadline(System.currentTimeMillis());
+        if (latest == Long.MAX_VALUE) {
+            return;
+        }
+        for (CacheEntry entry : cache.values()) {
+            if (entry.expiresAt > latest) {
+                entry.expiresAt = latest;
+            }
+        }
+    }
+
+    /**
+     * Picks the least recently used entries above the maximum size with a single sort, queues them and evicts
+     * them in batches.
+     */
+    private void shrinkToMaxSize() {
+        int surplus = cache.size() - maxSize;
+        if (surplus <= 0) {
+            finishShrink();
+            return;
+        }
+        cache.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue(Comparator.comparingLong((CacheEntry entry) -> entry.lastAccessTime)))
+                .limit(surplus)
+                .forEach(entry -> shrinkVictims.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue())));
+        evictBatch();
+    }
+
+    /**
+     * Evicts the next batch of queued victims and reschedules itself until the queue is drained or the cache
+     * fits. A victim that was replaced meanwhile is kept. If puts pushed the cache over its maximum again
+     * while the shrink ran, a fresh set of victims is picked.
+     */
+    private void evictBatch() {
+        int evicted = 0;
+        for (int i = 0; i < SHRINK_BATCH_SIZE && cache.size() > maxSize; i++) {
+            Map.Entry<Object, CacheEntry> victim = shrinkVictims.poll();
+            if (victim == null) {
+                break;
+            }
+            if (cache.remove(victim.getKey(), victim.getValue())) {
+                evicted++;
+            }
+        }
+        log.debug(Constants.SHRINK_BATCH, evicted, name, cache.size(), maxSize);
+        if (cache.size() <= maxSize) {
+            finishShrink();
+        } else if (!shrinkVictims.isEmpty()) {
+            scheduler.schedule(this::evictBatch, SHRINK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler.schedule(this::shrinkToMaxSize, SHRINK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void finishShrink() {
+        shrinkVictims.clear();
+        shrinking.set(false);
+    }
+
+    /**
+     * Evicts one entry ahead of an insert into a full cache. During a shrink this is the next queued victim
+     * that is still present, an O(1) step that keeps the cache bounded without a scan; otherwise, or once the
+     * queue is drained, it is the least recently used entry. The key about to be written is never chosen, so a
+     * racing {@code putIfAbsent} for the same key cannot evict the value another thread just stored.
+     */
+    private void makeRoom(Object key) {
+        if (shrinking.get()) {
+            Map.Entry<Object, CacheEntry> victim;
+            while ((victim = shrinkVictims.poll()) != null) {
+                if (!victim.getKey().equals(key) && cache.remove(victim.getKey(), victim.getValue())) {
+                    log.debug(Constants.EVICTED_KEY, victim.getKey(), name);
+                    return;
+                }
+            }
+        }
+        removeLeastRecentlyUsed(key);
+    }
+
+    /**
+     * Returns an access time just before that of the least recently used live entry, or now if there is none.
+     */
+    private long seedAccessTime(long now) {
+        OptionalLong oldest = cache.values().stream()
+                .filter(entry -> !isExpired(entry))
+                .mapToLong(entry -> entry.lastAccessTime)
+                .min();
+        return oldest.isPresent() ? oldest.getAsLong() - 1 : now;
+    }
+
+    private void removeLeastRecentlyUsed(Object excludedKey) {
+        Object lruKey = cache.entrySet().stream().filter(entry -> !entry.getKey().equals(excludedKey)).min(Map.Entry.comparingByValue((a, b) -> Long.compare(a.lastAccessTime, b.lastAccessTime))).map(Map.Entry::getKey).orElse(null);
 
         if (lruKey != null) {
             cache.remove(lruKey);
@@ -195,10 +479,13 @@ public class CustomLRUCache implements Cache {
     private static class CacheEntry {
         Object value;
         long lastAccessTime;
+        volatile long expiresAt;
+        long hits;
 
-        CacheEntry(Object value, long lastAccessTime) {
+        CacheEntry(Object value, long lastAccessTime, long expiresAt) {
             this.value = value;
             this.lastAccessTime = lastAccessTime;
+            this.expiresAt = expiresAt;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.caching.caching;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Expiry rules for a cache.
+ * <p>
+ * An entry expires when either configured deadline passes:
+ * <ul>
+ *     <li>expire-after-write: a fixed deadline set when the entry is stored, never moved by reads,
+ *     so a hot key is still refreshed from upstream periodically;</li>
+ *     <li>expire-after-access: the entry expires once it has not been read for the given time.</li>
+ * </ul>
+ * A value of 0 disables a rule. The write deadline can be shortened by a random fraction of up to
+ * {@code jitter} so that entries stored in the same burst do not all expire in the same tick. The optional
+ * {@code entryTtl} hook lets each value carry its own write lifetime, for example a longer one for results
+ * the upstream API was confident about ({@link ConfidenceTtl}).
+ */
+@Getter
+@ToString
+public class ExpiryPolicy {
+    private static final long DEFAULT_CLEANUP_INTERVAL_MILLIS = 60000;
+    private static final long MIN_CLEANUP_INTERVAL_MILLIS = 1000;
+
+    private final long expireAfterWriteMillis;
+    private final long expireAfterAccessMillis;
+    private final double jitter;
+    private final EntryTtl entryTtl;
+
+    @Builder(toBuilder = true)
+    private ExpiryPolicy(long expireAfterWriteMillis, long expireAfterAccessMillis, double jitter, EntryTtl entryTtl) {
+        if (expireAfterWriteMillis < 0 || expireAfterAccessMillis < 0) {
+            throw new IllegalArgumentException("Expiry durations must not be negative");
+        }
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Jitter must be in [0, 1)");
+        }
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+        this.expireAfterAccessMillis = expireAfterAccessMillis;
+        this.jitter = jitter;
+        this.entryTtl = entryTtl;
+    }
+
+    /**
+     * Computes the absolute write deadline for a value stored at {@code now}.
+     *
+     * @param value the value being stored
+     * @param now   the current time in milliseconds
+     * @return the deadline, or {@link Long#MAX_VALUE} if the entry does not expire after write or the
+     * deadline lies beyond the range of a long
+     */
+    public long writeDeadline(Object value, long now) {
+        long ttl = expireAfterWriteMillis;
+        if (entryTtl != null) {
+            long custom = entryTtl.ttlMillis(value, ttl);
+            if (custom > 0) {
+                ttl = custom;
+            }
+        }
+        if (ttl <= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (jitter > 0) {
+            ttl -= (long) (ttl * jitter * ThreadLocalRandom.current().nextDouble());
+        }
+        return deadline(now, ttl);
+    }
+
+    /**
+     * Returns the latest write deadline {@link #writeDeadline(Object, long)} can give an entry stored at
+     * {@code now}, including the longest per-entry TTL. Caches use it to bring existing entries in line with a
+     * shortened write TTL.
+     *
+     * @param now the current time in milliseconds
+     * @return the latest deadline, or {@link Long#MAX_VALUE} if entries do not expire after write
+     */
+    public long latestWriteDeadline(long now) {
+        long ttl = expireAfterWriteMillis;
+        if (entryTtl != null) {
+            ttl = Math.max(ttl, entryTtl.maxTtlMillis(ttl));
+        }
+        return ttl <= 0 ? Long.MAX_VALUE : deadline(now, ttl);
+    }
+
+    /**
+     * Checks whether an entry with the given write deadline and last access time has expired.
+     *
+     * @param writeDeadline  the deadline computed by {@link #writeDeadline(Object, long)}
+     * @param lastAccessTime the last time the entry was stored or read
+     * @param now            the current time in milliseconds
+     * @return true if either rule has expired the entry
+     */
+    public boolean isExpired(long writeDeadline, long lastAccessTime, long now) {
+        return now > writeDeadline || (expireAfterAccessMillis > 0 && now - lastAccessTime > expireAfterAccessMillis);
+    }
+
+    /**
+     * Interval at which a cache should sweep for expired entries: the shorter enabled TTL but at least a
+     * second, or a minute when neither rule is enabled.
+     */
+    public long cleanupIntervalMillis() {
+        long interval = Long.MAX_VALUE;
+        if (expireAfterWriteMillis > 0) {
+            interval = expireAfterWriteMillis;
+        }
+        if (expireAfterAccessMillis > 0) {
+            interval = Math.min(interval, expireAfterAccessMillis);
+        }
+        return interval == Long.MAX_VALUE ? DEFAULT_CLEANUP_INTERVAL_MILLIS : Math.max(MIN_CLEANUP_INTERVAL_MILLIS, interval);
+    }
+
+    /**
+     * Adds a TTL to a point in time, saturating at {@link Long#MAX_VALUE} instead of overflowing.
+     */
+    private static long deadline(long now, long ttl) {
+        return ttl > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttl;
+    }
+
+    /**
+     * Chooses the write TTL of an individual value.
+     */
+    public interface EntryTtl {
+
+        /**
+         * Returns the write TTL for a value.
+         *
+         * @param value          the value being stored
+         * @param writeTtlMillis the policy's write TTL, 0 if disabled
+         * @return the TTL in milliseconds, or a value &lt;= 0 to use the policy's write TTL
+         */
+        long ttlMillis(Object value, long writeTtlMillis);
+
+        /**
+         * Returns the longest TTL {@link #ttlMillis(Object, long)} can return for the given write TTL.
+         */
+        default long maxTtlMillis(long writeTtlMillis) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.caching.caching;
+
+import com.caching.dto.out.CacheEntrySnapshot;
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A {@link Cache} whose capacity and expiry can be changed while it is serving traffic, and which supports
+ * bulk invalidation and inspection of its hottest entries.
+ */
+public interface ManagedCache extends Cache {
+
+    /**
+     * Returns the number of entries currently held, including entries that have expired but not yet been
+     * swept.
+     */
+    int size();
+
+    /**
+     * Returns the current maximum number of entries.
+     */
+    int getMaxSize();
+
+    /**
+     * Changes the maximum number of entries. When shrinking, the surplus is evicted in small batches on the
+     * cache's maintenance thread rather than by the calling thread.
+     *
+     * @param maxSize the new maximum, at least 1
+     */
+    void resize(int maxSize);
+
+    /**
+     * Stores a value that no client asked for, such as a mapping inferred from the opposite lookup direction.
+     * Unlike {@link #putIfAbsent(Object, Object)} a seed never evicts anything: it is skipped when the key has a
+     * live entry or the cache is full. A stored seed is given an access time just before that of the least
+     * recently used live entry, so it is the next to be evicted unless a client reads it first.
+     *
+     * @param key   the key for the cache entry
+     * @param value the value to store
+     * @return true if the value was stored
+     */
+    boolean seed(Object key, Object value);
+
+    /**
+     * Returns the expiry policy currently in force.
+     */
+    ExpiryPolicy getExpiryPolicy();
+
+    /**
+     * Replaces the expiry policy. Existing entries keep their write deadline unless the new write TTL would
+     * expire them sooner, in which case the deadline is brought forward.
+     *
+     * @param expiryPolicy the new policy
+     */
+    void setExpiryPolicy(ExpiryPolicy expiryPolicy);
+
+    /**
+     * Removes every entry whose key matches the predicate. The predicate is evaluated without holding any
+     * cache lock and before anything is removed, so a slow predicate does not stall other callers and one that
+     * throws leaves the cache unchanged.
+     *
+     * @param keyPredicate test applied to each key
+     * @return the number of entries removed
+     */
+    int invalidateIf(Predicate<Object> keyPredicate);
+
+    /**
+     * Samples up to {@code sampleSize} entries and returns the {@code limit} most frequently read among them.
+     *
+     * @param limit      the maximum number of entries to return
+     * @param sampleSize the maximum number of entries to inspect
+     * @return the sampled entries, most read first
+     */
+    List<CacheEntrySnapshot> hottest(int limit, int sampleSize);
+}
@@ -0,0 +1,60 @@
+package com.caching.config;
+
+import com.caching.caching.ConfidenceTtl;
+import com.caching.caching.ExpiryPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-cache size and expiry settings, bound from {@code caching.caches[<cache name>].*}.
+ * Caches without an entry use the defaults of {@link Spec}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "caching")
+public class CacheProperties {
+    private Map<String, Spec> caches = new HashMap<>();
+
+    /**
+     * Returns the settings for the named cache, falling back to defaults.
+     *
+     * @param name the cache name
+     * @return the cache settings
+     */
+    public Spec spec(String name) {
+        return caches.getOrDefault(name, new Spec());
+    }
+
+    /**
+     * Settings for a single cache. {@code confidenceTtlMultiplier} stretches the write TTL of results by up to
+     * that factor according to their upstream confidence; 1 keeps the same TTL for every entry.
+     */
+    @Getter
+    @Setter
+    public static class Spec {
+        private int maxSize = 5;
+        private Duration expireAfterWrite = Duration.ofMinutes(2);
+        private Duration expireAfterAccess = Duration.ZERO;
+        private double jitter = 0.1;
+        private double confidenceTtlMultiplier = 1;
+
+        /**
+         * Builds the expiry policy described by these settings.
+         *
+         * @return the expiry policy
+         */
+        public ExpiryPolicy toExpiryPolicy() {
+            return ExpiryPolicy.builder()
+                    .expireAfterWriteMillis(expireAfterWrite.toMillis())
+                    .expireAfterAccessMillis(expireAfterAccess.toMillis())
+                    .jitter(jitter)
+                    .entryTtl(confidenceTtlMultiplier == 1 ? null : new ConfidenceTtl(confidenceTtlMultiplier))
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.caching.config;
 
 import com.caching.config.impl.CustomCacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -14,16 +15,18 @@ import org.springframework.web.client.RestTemplate;
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CachingConfig {
     /**
      * Configures the custom CacheManager bean that manages multiple caches.
      *
+     * @param properties per-cache size and expiry settings
      * @return The CacheManager with custom caches for "geocoding" and "reverse-geocoding".
      */
 
     @Bean
-    public CacheManager cacheManager() {
-        return new CustomCacheManager();
+    public CacheManager cacheManager(CacheProperties properties) {
+        return new CustomCacheManager(properties);
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.caching.config.impl;
 
+import com.caching.caching.CoordinateCache;
 import com.caching.caching.CustomLRUCache;
+import com.caching.config.CacheProperties;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
@@ -9,18 +11,22 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Custom CacheManager implementation that manages caches with specific settings like size and TTL.
+ * Custom CacheManager implementation that manages caches with specific settings like size and expiry,
+ * taken from {@link CacheProperties}.
  */
 public class CustomCacheManager implements CacheManager {
 
-    private final Map<String, CustomLRUCache> caches;
-    private static final long CACHE_TTL_IN_MILLIS = 120000; // 2 minutes in milliseconds
-    private static final int CACHE_MAX_SIZE = 5;
+    private static final String GEOCODING = "geocoding";
+    private static final String REVERSE_GEOCODING = "reverse-geocoding";
 
-    public CustomCacheManager() {
+    private final Map<String, Cache> caches;
+
+    public CustomCacheManager(CacheProperties properties) {
         caches = new HashMap<>();
-        caches.put("geocoding", new CustomLRUCache("geocoding", CACHE_MAX_SIZE, CACHE_TTL_IN_MILLIS));
-        caches.put("reverse-geocoding", new CustomLRUCache("reverse-geocoding", CACHE_MAX_SIZE, CACHE_TTL_IN_MILLIS));
+        CacheProperties.Spec geocoding = properties.spec(GEOCODING);
+        CacheProperties.Spec reverseGeocoding = properties.spec(REVERSE_GEOCODING);
+        caches.put(GEOCODING, new CoordinateCache(GEOCODING, geocoding.getMaxSize(), geocoding.toExpiryPolicy()));
+        caches.put(REVERSE_GEOCODING, new CustomLRUCache(REVERSE_GEOCODING, reverseGeocoding.getMaxSize(), reverseGeocoding.toExpiryPolicy()));
     }
 
     /**
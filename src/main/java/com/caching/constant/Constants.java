@@ -6,7 +6,7 @@ public class Constants {
     }
 
     public static final String REMOVED_FROM_CACHE = "Removed least recently used entry with key: {} from cache '{}'";
-    public static final String ENTRY_EXPIRED = "Entry is expired. Current time: {}, Last access time: {}, TTL: {} ms";
+    public static final String ENTRY_EXPIRED = "Entry is expired. Current time: {}, Write deadline: {}, Last access time: {}";
     public static final String CLEANING= "Cleaned up {} expired entries from cache '{}'";
     public static final String REMOVING_ENTRY="Removing expired entry for key: {} from cache '{}'";
     public static final String CACHE_MISS="Cache miss or expired for key: {} in cache '{}'";
@@ -16,7 +16,8 @@ public class Constants {
     public static final String STORED_KEY= "Stored key: {} in cache '{}'. Current cache size: {}";
     public static final String EVICTED_KEY = "Evicted key: {} from cache '{}'";
     public static final String CLEARING_ENTRY="Cleared all entries from cache '{}'";
-    public static final String INITIALISATION="Initialized CustomLRUCache '{}' with max size {} and TTL {} ms";
+    public static final String INITIALISATION="Initialized CustomLRUCache '{}' with max size {} and {}";
+    public static final String COORDINATE_CACHE_INITIALISATION = "Initialized CoordinateCache '{}' with max size {}, {} slots and {}";
     public static final String INVALID_LOCATION= "Invalid LocationResponse: No data available";
     public static final String INVALID_COORDINATE = "Invalid CoordinateResponse: No data available";
     public static final String ADDRESS_DISPLAY="The corresponding address is {}";
@@ -24,4 +25,19 @@ public class Constants {
     public static final String REVERSE_API_CALL = "Calling reverse geocoding API for coordinates: {}, {}";
     public static final String FORWARD_API_CALL = "Calling forward geocoding API for address: {}";
     public static final String GEOCODING_API_FAILED = "Geocoding API call failed for address: {}";
+    public static final String LOCAL_REVERSE_DISABLED = "No local reverse geocoding dataset configured, all reverse lookups go upstream";
+    public static final String LOCAL_REVERSE_INDEX_BUILT = "Built spatial index of {} places at {}";
+    public static final String LOCAL_REVERSE_INDEX_FALLBACK = "Cannot write spatial index next to {}, using {} instead";
+    public static final String LOCAL_REVERSE_INDEX_INVALID = "Spatial index {} is unusable ({}), rebuilding it from the dataset";
+    public static final String LOCAL_REVERSE_LOADED = "Loaded local reverse geocoder: {} places, {} bytes mapped in {} ms";
+    public static final String LOCAL_REVERSE_HIT = "Resolved coordinates: {}, {} locally to {}";
+    public static final String GAZETTEER_DISABLED = "No local gazetteer dataset configured, all forward lookups go upstream";
+    public static final String GAZETTEER_LOADED = "Loaded local gazetteer: {} places, {} keys, {} trie nodes, ~{} bytes in {} ms";
+    public static final String GAZETTEER_LOOKUP = "Gazetteer lookup for address: {} matched: {} in {} us";
+    public static final String GAZETTEER_HIT = "Resolved address: {} locally from the gazetteer";
+    public static final String CROSS_POPULATED = "Cross-populated key: {} into cache '{}'";
+    public static final String CACHE_RESIZED = "Resized cache '{}' from max size {} to {}";
+    public static final String SHRINK_BATCH = "Evicted {} entries from cache '{}' while shrinking, size {} of max {}";
+    public static final String EXPIRY_CHANGED = "Changed expiry of cache '{}' to {}";
+    public static final String INVALIDATED = "Invalidated {} entries from cache '{}'";
 }
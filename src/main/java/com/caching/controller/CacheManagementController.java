@@ -0,0 +1,118 @@
+package com.caching.controller;
+
+import com.caching.dto.out.CacheEntrySnapshot;
+import com.caching.dto.out.CacheSummary;
+import com.caching.service.CacheManagementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller that exposes runtime management of the caches: inspecting them, changing their capacity and
+ * expiry, invalidating entries in bulk and sampling the hottest entries.
+ * <p>
+ * The endpoints have no authentication of their own and are only registered when
+ * {@code cache-management.enabled=true}. Deployments that enable them must keep {@code /api/caches}
+ * reachable only from operators, for example behind an authenticating reverse proxy or on an internal
+ * network.
+ */
+@RestController
+@ConditionalOnProperty(name = "cache-management.enabled", havingValue = "true")
+@RequestMapping("/api/caches")
+@RequiredArgsConstructor
+public class CacheManagementController {
+
+    private final CacheManagementService cacheManagementService;
+
+    /**
+     * Endpoint to list all caches with their size, capacity and expiry settings.
+     *
+     * @return A response entity containing the cache summaries.
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheSummary>> getCaches() {
+        return ResponseEntity.ok(cacheManagementService.getCaches());
+    }
+
+    /**
+     * Endpoint to describe a single cache.
+     *
+     * @param name The cache name.
+     * @return A response entity containing the cache summary.
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<CacheSummary> getCache(@PathVariable String name) {
+        return ResponseEntity.ok(cacheManagementService.getCache(name));
+    }
+
+    /**
+     * Endpoint to change the maximum number of entries of a live cache.
+     *
+     * @param name    The cache name.
+     * @param maxSize The new maximum number of entries.
+     * @return A response entity containing the updated cache summary.
+     */
+    @PutMapping("/{name}/capacity")
+    public ResponseEntity<CacheSummary> resize(@PathVariable String name, @RequestParam int maxSize) {
+        return ResponseEntity.ok(cacheManagementService.resize(name, maxSize));
+    }
+
+    /**
+     * Endpoint to change the expiry settings of a live cache. Omitted settings are left unchanged.
+     *
+     * @param name                    The cache name.
+     * @param expireAfterWriteMillis  The new write TTL in milliseconds, 0 to disable.
+     * @param expireAfterAccessMillis The new access TTL in milliseconds, 0 to disable.
+     * @param jitter                  The new jitter fraction in [0, 1).
+     * @return A response entity containing the updated cache summary.
+     */
+    @PutMapping("/{name}/expiry")
+    public ResponseEntity<CacheSummary> updateExpiry(@PathVariable String name,
+                                                     @RequestParam(required = false) Long expireAfterWriteMillis,
+                                                     @RequestParam(required = false) Long expireAfterAccessMillis,
+                                                     @RequestParam(required = false) Double jitter) {
+        return ResponseEntity.ok(cacheManagementService.updateExpiry(name, expireAfterWriteMillis, expireAfterAccessMillis, jitter));
+    }
+
+    /**
+     * Endpoint to invalidate every entry whose key starts with a prefix or matches a regular expression.
+     *
+     * @param name    The cache name.
+     * @param prefix  The key prefix to match.
+     * @param pattern The regular expression the whole key must match.
+     * @return A response entity containing the number of invalidated entries.
+     */
+    @DeleteMapping("/{name}/entries")
+    public ResponseEntity<Map<String, Integer>> invalidate(@PathVariable String name,
+                                                           @RequestParam(required = false) String prefix,
+                                                           @RequestParam(required = false) String pattern) {
+        int invalidated = cacheManagementService.invalidate(name, prefix, pattern);
+        return ResponseEntity.ok(Collections.singletonMap("invalidated", invalidated));
+    }
+
+    /**
+     * Endpoint to return the most read entries among a sample of the cache.
+     *
+     * @param name   The cache name.
+     * @param limit  The maximum number of entries to return.
+     * @param sample The maximum number of entries to inspect.
+     * @return A response entity containing the hottest sampled entries with their access counts.
+     */
+    @GetMapping("/{name}/hot")
+    public ResponseEntity<List<CacheEntrySnapshot>> getHottest(@PathVariable String name,
+                                                               @RequestParam(defaultValue = "20") int limit,
+                                                               @RequestParam(defaultValue = "1000") int sample) {
+        return ResponseEntity.ok(cacheManagementService.getHottest(name, limit, sample));
+    }
+}
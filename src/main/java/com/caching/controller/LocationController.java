@@ -51,7 +51,7 @@ public class LocationController {
     @GetMapping("/reverse-geocoding")
     public ResponseEntity<String> reverseGeocoding(@RequestParam double latitude, @RequestParam double longitude) {
         try {
-            String address = locationService.getAddress(latitude, longitude);
+            String address = locationService.getAddress(latitude, longitude).getLabel();
             return ResponseEntity.ok(address);
         } catch (InvalidCoordinatesException e) {
             throw new InvalidCoordinatesException(latitude, longitude);
@@ -0,0 +1,24 @@
+package com.caching.dto.out;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO class representing the address resolved for a pair of coordinates. The reverse geocoding endpoint
+ *  returns only the label; the upstream confidence travels along for the cache.
+ */
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class Address implements Scored {
+    private String label;
+    @JsonIgnore
+    private double confidence;
+
+    public Address(String label) {
+        this(label, Double.NaN);
+    }
+}
@@ -0,0 +1,20 @@
+package com.caching.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO class representing one sampled cache entry with its access count which will
+ *  be returned by the hot-entries management endpoint.
+ */
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CacheEntrySnapshot {
+    private String key;
+    private long hits;
+    private long lastAccessTime;
+    private long expiresAt;
+}
@@ -0,0 +1,22 @@
+package com.caching.dto.out;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * DTO class describing a cache's current occupancy, capacity and expiry settings which will
+ *  be returned by the cache management endpoints.
+ */
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CacheSummary {
+    private String name;
+    private int size;
+    private int maxSize;
+    private long expireAfterWriteMillis;
+    private long expireAfterAccessMillis;
+    private double jitter;
+}
@@ -1,18 +1,25 @@
 package com.caching.dto.out;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * DTO class representing geographical coordinates with latitude and longitude which will
- *  be returned in response.
+ *  be returned in response. The upstream confidence travels along for the cache and is not serialized.
  */
 
 @Getter
 @Setter
 @AllArgsConstructor
-public class Coordinate {
+public class Coordinate implements Scored {
     private double latitude;
     private double longitude;
+    @JsonIgnore
+    private double confidence;
+
+    public Coordinate(double latitude, double longitude) {
+        this(latitude, longitude, Double.NaN);
+    }
 }
@@ -0,0 +1,14 @@
+package com.caching.dto.out;
+
+/**
+ * A geocoding result that remembers how confident the upstream API was in it. Caches use the confidence to
+ * keep trustworthy results longer; it is never part of the response body.
+ */
+public interface Scored {
+
+    /**
+     * Returns the upstream confidence in [0, 1], or {@link Double#NaN} when the result did not come from the
+     * upstream API.
+     */
+    double getConfidence();
+}
@@ -0,0 +1,11 @@
+package com.caching.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CacheManagementException extends RuntimeException {
+    public CacheManagementException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.caching.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CacheNotFoundException extends CacheManagementException {
+    public CacheNotFoundException(String name) {
+        super("Unknown cache: " + name);
+    }
+}
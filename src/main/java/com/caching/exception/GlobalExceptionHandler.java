@@ -47,4 +47,34 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
     }
+
+    /**
+     * Handles requests for caches that do not exist (CacheNotFoundException) and returns a custom error response.
+     */
+    @ExceptionHandler(CacheNotFoundException.class)
+    public ResponseEntity<Object> handleCacheNotFound(CacheNotFoundException ex, WebRequest request) {
+        log.error("Cache Error: {}", ex.getMessage());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", ex.getMessage());
+        body.put("details", request.getDescription(false));
+
+        return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles invalid cache management requests (CacheManagementException) and returns a custom error response.
+     */
+    @ExceptionHandler(CacheManagementException.class)
+    public ResponseEntity<Object> handleCacheManagementErrors(CacheManagementException ex, WebRequest request) {
+        log.error("Cache Error: {}", ex.getMessage());
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", ex.getMessage());
+        body.put("details", request.getDescription(false));
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
 }
\ No newline at end of file
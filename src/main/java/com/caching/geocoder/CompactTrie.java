@@ -0,0 +1,273 @@
+package com.caching.geocoder;
+
+import java.util.Arrays;
+
+/**
+ * Character trie stored in parallel primitive arrays, mapping string keys to non-negative int values.
+ * <p>
+ * Node {@code n} has label {@code labels[n]}, its first child at {@code firstChild[n]}, its next sibling
+ * at {@code nextSibling[n]} and its value at {@code values[n]} ({@link #NONE} when no key ends there).
+ * Node 0 is the root. A key inserted twice with different values is marked {@link #AMBIGUOUS}, so callers
+ * can refuse to guess between places that share a name.
+ * <p>
+ * Besides exact lookups the trie answers unique-prefix queries and bounded edit-distance (Levenshtein)
+ * queries, the latter by walking the trie with one dynamic-programming row per level and pruning any
+ * branch whose row minimum already exceeds the edit budget. A fuzzy query can be scoped to the keys below
+ * a fixed prefix and can demand a margin over the closest competing key.
+ */
+public final class CompactTrie {
+    public static final int NONE = -1;
+    public static final int AMBIGUOUS = -2;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private char[] labels = new char[INITIAL_CAPACITY];
+    private int[] firstChild = new int[INITIAL_CAPACITY];
+    private int[] nextSibling = new int[INITIAL_CAPACITY];
+    private int[] values = new int[INITIAL_CAPACITY];
+    private int nodeCount;
+    private int keyCount;
+
+    public CompactTrie() {
+        newNode('\0');
+    }
+
+    /**
+     * Inserts a key. Inserting an existing key with a different value marks it ambiguous.
+     *
+     * @param key   the key
+     * @param value a non-negative value
+     */
+    public void put(String key, int value) {
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            node = childOrCreate(node, key.charAt(i));
+        }
+        if (values[node] == NONE) {
+            values[node] = value;
+            keyCount++;
+        } else if (values[node] != value) {
+            values[node] = AMBIGUOUS;
+        }
+    }
+
+    /**
+     * Releases the spare capacity left over from building.
+     */
+    public void trim() {
+        labels = Arrays.copyOf(labels, nodeCount);
+        firstChild = Arrays.copyOf(firstChild, nodeCount);
+        nextSibling = Arrays.copyOf(nextSibling, nodeCount);
+        values = Arrays.copyOf(values, nodeCount);
+    }
+
+    /**
+     * Returns the value stored for exactly this key, {@link #AMBIGUOUS}, or {@link #NONE}.
+     */
+    public int get(String key) {
+        int node = find(key);
+        return node < 0 ? NONE : values[node];
+    }
+
+    /**
+     * Returns the value of the only key starting with {@code prefix}, or {@link #NONE} when there is no
+     * such key or more than one.
+     */
+    public int uniqueWithPrefix(String prefix) {
+        int node = find(prefix);
+        if (node < 0) {
+            return NONE;
+        }
+        int[] found = {NONE};
+        return collectUnique(node, found, true) ? found[0] : NONE;
+    }
+
+    /**
+     * Returns the value of the key closest to {@code query} within {@code maxEdits} insertions, deletions
+     * or substitutions, or {@link #NONE} if there is none or the closest distance is shared by several keys.
+     */
+    public int closest(String query, int maxEdits) {
+        return closest("", query, maxEdits, 1);
+    }
+
+    /**
+     * Fuzzy search restricted to keys that start with {@code scope}: returns the value of the key whose
+     * remainder after {@code scope} is closest to {@code query} within {@code maxEdits} edits, provided every
+     * key with a different value (or an ambiguous key) is at least {@code margin} edits further away.
+     * A margin of 1 only requires the closest distance not to be shared.
+     *
+     * @return the matching value, or {@link #NONE}
+     */
+    public int closest(String scope, String query, int maxEdits, int margin) {
+        int scopeNode = find(scope);
+        if (scopeNode < 0) {
+            return NONE;
+        }
+        int[] row = new int[query.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        FuzzyMatch match = new FuzzyMatch(maxEdits, margin);
+        for (int child = firstChild[scopeNode]; child != 0; child = nextSibling[child]) {
+            closest(child, query, row, match);
+        }
+        return match.result();
+    }
+
+    /**
+     * Number of distinct keys.
+     */
+    public int keyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Number of trie nodes, including the root.
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Approximate heap used by the node arrays, in bytes.
+     */
+    public long byteSize() {
+        return (long) labels.length * Character.BYTES
+                + (long) (firstChild.length + nextSibling.length + values.length) * Integer.BYTES;
+    }
+
+    private void closest(int node, String query, int[] previousRow, FuzzyMatch match) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        char label = labels[node];
+        for (int i = 1; i < row.length; i++) {
+            int substitution = previousRow[i - 1] + (query.charAt(i - 1) == label ? 0 : 1);
+            row[i] = Math.min(substitution, Math.min(row[i - 1] + 1, previousRow[i] + 1));
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        int distance = row[row.length - 1];
+        if (values[node] != NONE) {
+            match.offer(distance, values[node]);
+        }
+        if (rowMin <= match.bound()) {
+            for (int child = firstChild[node]; child != 0; child = nextSibling[child]) {
+                closest(child, query, row, match);
+            }
+        }
+    }
+
+    /**
+     * Walks the subtree below {@code node} and records its single value in {@code found[0]}.
+     * Returns false as soon as a second distinct value (or an ambiguous key) is seen.
+     */
+    private boolean collectUnique(int node, int[] found, boolean isSubtreeRoot) {
+        int value = values[node];
+        if (value == AMBIGUOUS) {
+            return false;
+        }
+        if (value != NONE) {
+            if (found[0] != NONE && found[0] != value) {
+                return false;
+            }
+            found[0] = value;
+        }
+        for (int child = firstChild[node]; child != 0; child = nextSibling[child]) {
+            if (!collectUnique(child, found, false)) {
+                return false;
+            }
+        }
+        return !isSubtreeRoot || found[0] != NONE;
+    }
+
+    private int find(String key) {
+        int node = 0;
+        for (int i = 0; i < key.length() && node >= 0; i++) {
+            node = child(node, key.charAt(i));
+        }
+        return node;
+    }
+
+    private int child(int node, char label) {
+        for (int child = firstChild[node]; child != 0; child = nextSibling[child]) {
+            if (labels[child] == label) {
+                return child;
+            }
+        }
+        return -1;
+    }
+
+    private int childOrCreate(int node, char label) {
+        int last = 0;
+        for (int child = firstChild[node]; child != 0; child = nextSibling[child]) {
+            if (labels[child] == label) {
+                return child;
+            }
+            last = child;
+        }
+        int created = newNode(label);
+        if (last == 0) {
+            firstChild[node] = created;
+        } else {
+            nextSibling[last] = created;
+        }
+        return created;
+    }
+
+    private int newNode(char label) {
+        if (nodeCount == labels.length) {
+            int capacity = labels.length * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int node = nodeCount++;
+        labels[node] = label;
+        firstChild[node] = 0;
+        nextSibling[node] = 0;
+        values[node] = NONE;
+        return node;
+    }
+
+    /**
+     * Best candidate and closest competitor seen so far in a fuzzy search. Once a match is found the search
+     * bound tightens to its distance plus the margin, so only keys that could still beat it or spoil its
+     * margin are explored afterwards.
+     */
+    private static final class FuzzyMatch {
+        private final int maxEdits;
+        private final int margin;
+        private int distance = Integer.MAX_VALUE;
+        private int value = NONE;
+        private int runnerUpDistance = Integer.MAX_VALUE;
+
+        private FuzzyMatch(int maxEdits, int margin) {
+            this.maxEdits = maxEdits;
+            this.margin = margin;
+        }
+
+        private int bound() {
+            return Math.min(maxEdits, distance) + margin - 1;
+        }
+
+        private void offer(int candidateDistance, int candidateValue) {
+            if (candidateDistance > bound()) {
+                return;
+            }
+            boolean competes = candidateValue != value || candidateValue == AMBIGUOUS;
+            if (candidateDistance <= maxEdits && candidateDistance < distance) {
+                if (competes) {
+                    runnerUpDistance = Math.min(runnerUpDistance, distance);
+                }
+                distance = candidateDistance;
+                value = candidateValue;
+            } else if (competes) {
+                runnerUpDistance = Math.min(runnerUpDistance, candidateDistance);
+            }
+        }
+
+        private int result() {
+            return value >= 0 && runnerUpDistance - distance >= margin ? value : NONE;
+        }
+    }
+}
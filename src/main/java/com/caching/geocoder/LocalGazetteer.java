@@ -0,0 +1,222 @@
+package com.caching.geocoder;
+
+import com.caching.constant.Constants;
+import com.caching.dto.out.Coordinate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Optional embedded gazetteer for forward geocoding of well-known place names.
+ * <p>
+ * Places are read from {@code local-gazetteer.dataset} (same format as the reverse geocoding dataset, see
+ * {@link LocalityCsvReader}) and indexed in a {@link CompactTrie} under "name region", "name country" and
+ * "name region country", so queries such as "Pune, Maharashtra" resolve.
+ * A lookup answers only when it is confident:
+ * <ol>
+ *     <li>an exact key match naming a single place,</li>
+ *     <li>otherwise a prefix of at least {@code local-gazetteer.min-prefix-length} characters that completes
+ *     to exactly one place,</li>
+ *     <li>otherwise a closest key within a small edit distance, scaled with the query length and capped at
+ *     {@code local-gazetteer.max-edits}, that beats every other place by at least
+ *     {@code local-gazetteer.fuzzy.min-margin} edits.</li>
+ * </ol>
+ * The dataset is never complete, so a name that is unique in it may still belong to a place it lacks. The
+ * prefix and fuzzy tiers therefore only apply to queries of the form "name, qualifier[, qualifier]" and only
+ * among places whose region or country equals a qualifier; a second trie keyed "qualifier/name" holds those
+ * scopes. For the same reason a bare name such as "Pune" is only indexed, and answered by the exact tier,
+ * when {@code local-gazetteer.exact.bare-names} is set. Each tier can be switched off with
+ * {@code local-gazetteer.<tier>.enabled}.
+ * <p>
+ * Anything else returns null and the caller falls back to the upstream API. When no dataset is configured
+ * the gazetteer is disabled.
+ */
+@Component
+@Slf4j
+public class LocalGazetteer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int ONE_EDIT_MIN_LENGTH = 5;
+    private static final int TWO_EDITS_MIN_LENGTH = 9;
+    private static final char SCOPE_SEPARATOR = '/';
+
+    @Value("${local-gazetteer.dataset:}")
+    private String dataset;
+
+    @Value("${local-gazetteer.min-prefix-length:4}")
+    private int minPrefixLength;
+
+    @Value("${local-gazetteer.max-edits:2}")
+    private int maxEdits;
+
+    @Value("${local-gazetteer.exact.enabled:true}")
+    private boolean exactEnabled;
+
+    @Value("${local-gazetteer.exact.bare-names:false}")
+    private boolean bareNames;
+
+    @Value("${local-gazetteer.prefix.enabled:true}")
+    private boolean prefixEnabled;
+
+    @Value("${local-gazetteer.fuzzy.enabled:true}")
+    private boolean fuzzyEnabled;
+
+    @Value("${local-gazetteer.fuzzy.min-margin:2}")
+    private int fuzzyMinMargin;
+
+    private CompactTrie trie;
+    private CompactTrie scopedTrie;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    /**
+     * Loads the dataset and builds the trie, logging its size and memory footprint.
+     */
+    @PostConstruct
+    public void load() {
+        if (!StringUtils.hasText(dataset)) {
+            log.info(Constants.GAZETTEER_DISABLED);
+            return;
+        }
+        long start = System.nanoTime();
+        List<LocalityRecord> records;
+        try {
+            records = LocalityCsvReader.read(Paths.get(dataset));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load gazetteer dataset " + dataset, e);
+        }
+
+        CompactTrie built = new CompactTrie();
+        CompactTrie scoped = new CompactTrie();
+        latitudes = new double[records.size()];
+        longitudes = new double[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            LocalityRecord record = records.get(i);
+            latitudes[i] = record.getLatitude();
+            longitudes[i] = record.getLongitude();
+            String name = normalize(record.getName());
+            String region = normalize(record.getRegion());
+            String country = normalize(record.getCountry());
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (bareNames) {
+                built.put(name, i);
+            }
+            if (!region.isEmpty()) {
+                built.put(name + ' ' + region, i);
+                scoped.put(region + SCOPE_SEPARATOR + name, i);
+            }
+            if (!country.isEmpty()) {
+                built.put(name + ' ' + country, i);
+                scoped.put(country + SCOPE_SEPARATOR + name, i);
+            }
+            if (!region.isEmpty() && !country.isEmpty()) {
+                built.put(name + ' ' + region + ' ' + country, i);
+            }
+        }
+        built.trim();
+        scoped.trim();
+        trie = built;
+        scopedTrie = scoped;
+
+        long bytes = trie.byteSize() + scopedTrie.byteSize() + (long) (latitudes.length + longitudes.length) * Double.BYTES;
+        log.info(Constants.GAZETTEER_LOADED, records.size(), trie.keyCount() + scopedTrie.keyCount(),
+                trie.nodeCount() + scopedTrie.nodeCount(), bytes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Resolves a place name to coordinates without any network call.
+     *
+     * @param address the free-text address
+     * @return the coordinates of the matching place, or null when the gazetteer is disabled or not confident
+     */
+    public Coordinate findCoordinates(String address) {
+        if (trie == null || address == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        int place = match(address);
+        log.debug(Constants.GAZETTEER_LOOKUP, address, place >= 0, (System.nanoTime() - start) / 1_000);
+        return place >= 0 ? new Coordinate(latitudes[place], longitudes[place]) : null;
+    }
+
+    private int match(String address) {
+        String key = normalize(address);
+        if (key.isEmpty()) {
+            return CompactTrie.NONE;
+        }
+        if (exactEnabled) {
+            int place = trie.get(key);
+            if (place != CompactTrie.NONE) {
+                return place;
+            }
+        }
+        String[] parts = address.split(",");
+        String name = normalize(parts[0]);
+        if (name.isEmpty()) {
+            return CompactTrie.NONE;
+        }
+        int place = CompactTrie.NONE;
+        for (int i = 1; i < parts.length; i++) {
+            String qualifier = normalize(parts[i]);
+            if (qualifier.isEmpty()) {
+                continue;
+            }
+            int candidate = matchWithin(qualifier + SCOPE_SEPARATOR, name);
+            if (candidate < 0) {
+                continue;
+            }
+            if (place >= 0 && candidate != place) {
+                return CompactTrie.NONE;
+            }
+            place = candidate;
+        }
+        return place;
+    }
+
+    /**
+     * Prefix and fuzzy tiers, restricted to the places filed under one region or country.
+     */
+    private int matchWithin(String scope, String name) {
+        if (prefixEnabled && name.length() >= minPrefixLength) {
+            int place = scopedTrie.uniqueWithPrefix(scope + name);
+            if (place >= 0) {
+                return place;
+            }
+        }
+        int edits = Math.min(maxEdits, editBudget(name.length()));
+        if (!fuzzyEnabled || edits <= 0) {
+            return CompactTrie.NONE;
+        }
+        return scopedTrie.closest(scope, name, edits, fuzzyMinMargin);
+    }
+
+    private static int editBudget(int length) {
+        if (length >= TWO_EDITS_MIN_LENGTH) {
+            return 2;
+        }
+        return length >= ONE_EDIT_MIN_LENGTH ? 1 : 0;
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses punctuation and whitespace into single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
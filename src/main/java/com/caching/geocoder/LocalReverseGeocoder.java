@@ -0,0 +1,118 @@
+package com.caching.geocoder;
+
+import com.caching.constant.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Optional offline reverse geocoder backed by a local locality dataset.
+ * <p>
+ * On startup the dataset configured by {@code local-reverse-geocoding.dataset} is compiled into a
+ * {@link SpatialIndex} file (only when the index is missing, older than the dataset, or written in another
+ * format version) and the index is memory-mapped. The index is kept at {@code local-reverse-geocoding.index},
+ * or next to the dataset when that is not set; if the index has to be written and that directory is read-only,
+ * it goes to the temporary directory instead. Lookups return the label of the nearest place within
+ * {@code local-reverse-geocoding.max-distance-km}; anything further away is left to the upstream API.
+ * When no dataset is configured the geocoder is disabled and every lookup returns null.
+ */
+@Component
+@Slf4j
+public class LocalReverseGeocoder {
+    private static final String INDEX_SUFFIX = ".kdx";
+
+    @Value("${local-reverse-geocoding.dataset:}")
+    private String dataset;
+
+    @Value("${local-reverse-geocoding.index:}")
+    private String indexPath;
+
+    @Value("${local-reverse-geocoding.max-distance-km:5}")
+    private double maxDistanceKm;
+
+    private SpatialIndex index;
+
+    /**
+     * Builds the index if needed and maps it into memory.
+     */
+    @PostConstruct
+    public void load() {
+        if (!StringUtils.hasText(dataset)) {
+            log.info(Constants.LOCAL_REVERSE_DISABLED);
+            return;
+        }
+        long start = System.nanoTime();
+        Path source = Paths.get(dataset);
+        Path indexFile = StringUtils.hasText(indexPath)
+                ? Paths.get(indexPath)
+                : source.resolveSibling(source.getFileName() + INDEX_SUFFIX);
+        try {
+            if (isStale(source, indexFile)) {
+                indexFile = writableLocation(indexFile);
+                if (isStale(source, indexFile)) {
+                    build(source, indexFile);
+                }
+            }
+            try {
+                index = SpatialIndex.load(indexFile);
+            } catch (IllegalArgumentException e) {
+                log.warn(Constants.LOCAL_REVERSE_INDEX_INVALID, indexFile, e.getMessage());
+                indexFile = writableLocation(indexFile);
+                build(source, indexFile);
+                index = SpatialIndex.load(indexFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load local reverse geocoding dataset " + dataset, e);
+        }
+        log.info(Constants.LOCAL_REVERSE_LOADED, index.size(), index.byteSize(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Returns the label of the nearest known place, or null if the geocoder is disabled or nothing is
+     * within the configured distance.
+     *
+     * @param latitude  the latitude to reverse geocode
+     * @param longitude the longitude to reverse geocode
+     * @return the address label, or null to fall back to the upstream API
+     */
+    public String findAddress(double latitude, double longitude) {
+        if (index == null) {
+            return null;
+        }
+        return index.nearest(latitude, longitude, maxDistanceKm);
+    }
+
+    private static void build(Path source, Path indexFile) throws IOException {
+        List<LocalityRecord> records = LocalityCsvReader.read(source);
+        SpatialIndex.write(records, indexFile);
+        log.info(Constants.LOCAL_REVERSE_INDEX_BUILT, records.size(), indexFile);
+    }
+
+    /**
+     * Returns the index file itself if its directory can be written, otherwise a file of the same name in the
+     * temporary directory, so a read-only dataset directory does not stop the application from starting.
+     */
+    private static Path writableLocation(Path indexFile) {
+        Path directory = indexFile.toAbsolutePath().getParent();
+        if (directory == null || Files.isWritable(directory)) {
+            return indexFile;
+        }
+        Path fallback = Paths.get(System.getProperty("java.io.tmpdir")).resolve(indexFile.getFileName());
+        log.warn(Constants.LOCAL_REVERSE_INDEX_FALLBACK, directory, fallback);
+        return fallback;
+    }
+
+    private static boolean isStale(Path source, Path indexFile) throws IOException {
+        return !Files.exists(indexFile)
+                || Files.getLastModifiedTime(indexFile).compareTo(Files.getLastModifiedTime(source)) < 0;
+    }
+}
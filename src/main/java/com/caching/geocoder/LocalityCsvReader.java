@@ -0,0 +1,75 @@
+package com.caching.geocoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the local locality dataset.
+ * <p>
+ * The file is a GeoNames-style extract with one place per line in the form
+ * {@code name,region,country,latitude,longitude}. Blank lines, lines starting with {@code #} and a header
+ * line are skipped. Fields are not quoted, so names must not contain commas.
+ */
+@Slf4j
+public final class LocalityCsvReader {
+    private static final int FIELD_COUNT = 5;
+
+    private LocalityCsvReader() {
+        throw new UnsupportedOperationException("This is a utility class.");
+    }
+
+    /**
+     * Reads every valid record from the given file.
+     *
+     * @param dataset path to the CSV file
+     * @return the parsed records, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<LocalityRecord> read(Path dataset) throws IOException {
+        List<LocalityRecord> records = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(dataset, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                LocalityRecord record = parse(line);
+                if (record == null) {
+                    skipped++;
+                } else {
+                    records.add(record);
+                }
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} malformed lines in locality dataset {}", skipped, dataset);
+        }
+        return records;
+    }
+
+    private static LocalityRecord parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != FIELD_COUNT) {
+            return null;
+        }
+        try {
+            double latitude = Double.parseDouble(fields[3].trim());
+            double longitude = Double.parseDouble(fields[4].trim());
+            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+                return null;
+            }
+            return new LocalityRecord(fields[0].trim(), fields[1].trim(), fields[2].trim(), latitude, longitude);
+        } catch (NumberFormatException e) {
+            // header line or bad coordinates
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.caching.geocoder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.StringJoiner;
+
+/**
+ * A single place read from the local locality dataset.
+ */
+@Getter
+@AllArgsConstructor
+public class LocalityRecord {
+    private final String name;
+    private final String region;
+    private final String country;
+    private final double latitude;
+    private final double longitude;
+
+    /**
+     * Builds the display label in the same "name, region, country" shape positionstack uses for its
+     * {@code label} field, skipping any part that is empty.
+     */
+    public String getLabel() {
+        StringJoiner label = new StringJoiner(", ");
+        for (String part : new String[]{name, region, country}) {
+            if (part != null && !part.isEmpty()) {
+                label.add(part);
+            }
+        }
+        return label.toString();
+    }
+}
@@ -0,0 +1,308 @@
+package com.caching.geocoder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only k-d tree over place coordinates, stored in a compact file that is memory-mapped on load.
+ * <p>
+ * The tree is implicit: points are written in an order where, for any range {@code [lo, hi)}, the point
+ * at the middle index splits the range on latitude (even depth) or longitude (odd depth). No node objects
+ * or child pointers exist, so loading is a single {@code mmap} and queries read straight from the page cache.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   int    magic
+ *   int    version
+ *   int    point count
+ *   count x { float latitude, float longitude, int label offset }
+ *   label blob: count x { unsigned short byte length, UTF-8 bytes }
+ * </pre>
+ * Coordinates are stored as floats, which keeps them within a metre or so of the source data. Searches do
+ * not wrap across the antimeridian.
+ */
+public final class SpatialIndex {
+    private static final int MAGIC = 0x4B44_5831; // "KDX1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int POINT_BYTES = 12;
+    private static final int MAX_LABEL_BYTES = 0xFFFF;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int labelsStart;
+
+    private SpatialIndex(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a spatial index file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported spatial index version " + buffer.getInt(4));
+        }
+        int points = buffer.getInt(8);
+        if (points < 0 || HEADER_BYTES + (long) points * POINT_BYTES > buffer.capacity()) {
+            throw new IllegalArgumentException("Truncated spatial index file");
+        }
+        this.buffer = buffer;
+        this.count = points;
+        this.labelsStart = HEADER_BYTES + points * POINT_BYTES;
+        checkLabels();
+    }
+
+    /**
+     * Checks that every label offset and length stays inside the file, so a corrupt index is rejected when it
+     * is loaded rather than failing a later lookup.
+     */
+    private void checkLabels() {
+        for (int i = 0; i < count; i++) {
+            int offset = buffer.getInt(HEADER_BYTES + i * POINT_BYTES + 8);
+            long position = (long) labelsStart + offset;
+            if (offset < 0 || position + 2 > buffer.capacity()
+                    || position + 2 + Short.toUnsignedInt(buffer.getShort((int) position)) > buffer.capacity()) {
+                throw new IllegalArgumentException("Corrupt spatial index file: label " + i + " lies outside the file");
+            }
+        }
+    }
+
+    /**
+     * Memory-maps an index file previously written by {@link #write(List, Path)}.
+     *
+     * @param file the index file
+     * @return the loaded index
+     * @throws IOException              if the file cannot be mapped
+     * @throws IllegalArgumentException if the file is not an index of this format version or is corrupt
+     */
+    public static SpatialIndex load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new SpatialIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Builds the k-d ordering for the given records and writes the index file. The file is written to a
+     * temporary sibling first and moved into place, so a concurrent reader never maps a partial file.
+     *
+     * @param records the places to index
+     * @param file    destination of the index
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(List<LocalityRecord> records, Path file) throws IOException {
+        int n = records.size();
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = records.get(i).getLatitude();
+            longitudes[i] = records.get(i).getLongitude();
+            order[i] = i;
+        }
+        arrange(order, latitudes, longitudes, 0, n, 0);
+
+        byte[][] labels = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            labels[i] = truncate(records.get(order[i]).getLabel().getBytes(StandardCharsets.UTF_8), MAX_LABEL_BYTES);
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            int labelOffset = 0;
+            for (int i = 0; i < n; i++) {
+                out.writeFloat((float) latitudes[order[i]]);
+                out.writeFloat((float) longitudes[order[i]]);
+                out.writeInt(labelOffset);
+                labelOffset += 2 + labels[i].length;
+            }
+            for (byte[] label : labels) {
+                out.writeShort(label.length);
+                out.write(label);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Number of indexed points.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Size of the mapped index in bytes.
+     */
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Finds the label of the nearest point within the given great-circle distance.
+     *
+     * @param latitude      query latitude in degrees
+     * @param longitude     query longitude in degrees
+     * @param maxDistanceKm the largest acceptable distance
+     * @return the label of the nearest point, or null if nothing is within {@code maxDistanceKm}
+     */
+    public String nearest(double latitude, double longitude, double maxDistanceKm) {
+        // Any point within maxDistanceKm lies within latWindow degrees of the query latitude, so a degree of
+        // longitude is at least lonScale times a degree of latitude for every point the search can accept.
+        // The parallel-arc bound is exact to well under a metre for the few-kilometre thresholds used here.
+        double latWindow = maxDistanceKm / KM_PER_DEGREE;
+        double widestLatitude = Math.min(90, Math.abs(latitude) + latWindow);
+        double lonScale = Math.cos(Math.toRadians(widestLatitude));
+        Search search = new Search(latitude, longitude, maxDistanceKm, lonScale);
+        search(search, 0, count, 0);
+        return search.best < 0 ? null : label(search.best);
+    }
+
+    private void search(Search search, int lo, int hi, int depth) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double pointLat = latitude(mid);
+        double pointLon = longitude(mid);
+        double distance = haversineKm(search.latitude, search.longitude, pointLat, pointLon);
+        if (distance <= search.bestDistance) {
+            search.bestDistance = distance;
+            search.best = mid;
+        }
+
+        boolean splitOnLatitude = (depth & 1) == 0;
+        double delta = splitOnLatitude ? search.latitude - pointLat : search.longitude - pointLon;
+        double planeKm = Math.abs(delta) * KM_PER_DEGREE * (splitOnLatitude ? 1 : search.lonScale);
+
+        if (delta < 0) {
+            search(search, lo, mid, depth + 1);
+            if (planeKm <= search.bestDistance) {
+                search(search, mid + 1, hi, depth + 1);
+            }
+        } else {
+            search(search, mid + 1, hi, depth + 1);
+            if (planeKm <= search.bestDistance) {
+                search(search, lo, mid, depth + 1);
+            }
+        }
+    }
+
+    private double latitude(int index) {
+        return buffer.getFloat(HEADER_BYTES + index * POINT_BYTES);
+    }
+
+    private double longitude(int index) {
+        return buffer.getFloat(HEADER_BYTES + index * POINT_BYTES + 4);
+    }
+
+    private String label(int index) {
+        int position = labelsStart + buffer.getInt(HEADER_BYTES + index * POINT_BYTES + 8);
+        int length = Short.toUnsignedInt(buffer.getShort(position));
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 2);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Cuts UTF-8 bytes to at most {@code maxBytes} without splitting a multi-byte character: if the first
+     * dropped byte is a continuation byte, the cut moves back to the start of that character.
+     */
+    static byte[] truncate(byte[] utf8, int maxBytes) {
+        if (utf8.length <= maxBytes) {
+            return utf8;
+        }
+        int end = maxBytes;
+        while (end > 0 && (utf8[end] & 0xC0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(utf8, end);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Reorders {@code order[lo, hi)} so that the middle element is the median on the split axis for this
+     * depth, with smaller values before it and larger after, then recurses into both halves.
+     */
+    private static void arrange(int[] order, double[] latitudes, double[] longitudes, int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double[] axis = (depth & 1) == 0 ? latitudes : longitudes;
+        select(order, axis, lo, hi - 1, mid);
+        arrange(order, latitudes, longitudes, lo, mid, depth + 1);
+        arrange(order, latitudes, longitudes, mid + 1, hi, depth + 1);
+    }
+
+    /**
+     * Quickselect: partially orders {@code order[left, right]} so that position {@code k} holds the value
+     * it would have after a full sort on {@code axis}.
+     */
+    private static void select(int[] order, double[] axis, int left, int right, int k) {
+        while (left < right) {
+            double pivot = axis[order[(left + right) >>> 1]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (axis[order[i]] < pivot) {
+                    i++;
+                }
+                while (axis[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static final class Search {
+        private final double latitude;
+        private final double longitude;
+        private final double lonScale;
+        private double bestDistance;
+        private int best = -1;
+
+        private Search(double latitude, double longitude, double maxDistanceKm, double lonScale) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.bestDistance = maxDistanceKm;
+            this.lonScale = lonScale;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.caching.mapper;
 
 import com.caching.constant.Constants;
+import com.caching.dto.out.Address;
 import com.caching.dto.out.Coordinate;
 import com.caching.model.CoordinateResponse;
 import com.caching.model.DatumOne;
@@ -19,17 +20,17 @@ public class GlobalMapper {
         if (locationResponse != null && locationResponse.getData() != null && !locationResponse.getData().isEmpty()) {
             DatumOne datum = locationResponse.getData().get(0);
             log.info("The latitude and longitude are : {}{}", datum.getLatitude(), " , "+datum.getLongitude());
-            return new Coordinate(datum.getLatitude(), datum.getLongitude());
+            return new Coordinate(datum.getLatitude(), datum.getLongitude(), datum.getConfidence());
         }
         throw new IllegalArgumentException(Constants.INVALID_LOCATION);
     }
     /**
-     * Converts a CoordinateResponse to an address string.
+     * Converts a CoordinateResponse to an Address object.
      */
-    public String convertToAddress(CoordinateResponse coordinateResponse) {
+    public Address convertToAddress(CoordinateResponse coordinateResponse) {
         if (coordinateResponse != null && coordinateResponse.getData() != null && !coordinateResponse.getData().isEmpty()) {
             DatumTwo datum = coordinateResponse.getData().get(0);
-            return datum.getLabel();
+            return new Address(datum.getLabel(), datum.getConfidence());
         }
         throw new IllegalArgumentException(Constants.INVALID_COORDINATE);
     }
@@ -15,7 +15,7 @@ public class DatumOne {
     @JsonProperty("postal_code")
     private String postalCode;
     private String street;
-    private int confidence;
+    private double confidence;
     private String region;
     @JsonProperty("region_code")
     private String regionCode;
@@ -0,0 +1,106 @@
+package com.caching.service;
+
+import com.caching.caching.ManagedCache;
+import com.caching.constant.Constants;
+import com.caching.dto.out.Address;
+import com.caching.dto.out.Coordinate;
+import com.caching.model.CoordinateResponse;
+import com.caching.model.DatumOne;
+import com.caching.model.DatumTwo;
+import com.caching.model.LocationResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Write-through stage that records the opposite mapping whenever an upstream lookup resolves.
+ * <p>
+ * A forward response carries the place's label next to its coordinates, and a reverse response carries
+ * the coordinates next to the label, so each one can seed the other direction's cache: a client that
+ * geocodes an address and later reverse geocodes the returned coordinates (or the other way round) is
+ * answered from cache. Only results whose {@code confidence} reaches {@code cross-population.min-confidence}
+ * are recorded, and the seeded values keep that confidence so the caches' confidence-scaled TTLs apply.
+ * They are stored with {@link ManagedCache#seed}: existing entries are never overwritten, a full cache is left
+ * alone rather than losing an entry a client used, and a seeded entry sits at the least recently used end
+ * until it is read.
+ * <p>
+ * Keys are built exactly as the {@code @Cacheable} key expressions on {@link LocationService} build them,
+ * so a seeded entry is found by the normal lookup path.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CacheCrossPopulator {
+    private static final String FORWARD_CACHE = "geocoding";
+    private static final String REVERSE_CACHE = "reverse-geocoding";
+    private static final int MIN_LABEL_LENGTH = 3;
+
+    private final CacheManager cacheManager;
+
+    @Value("${cross-population.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cross-population.min-confidence:0.8}")
+    private double minConfidence;
+
+    /**
+     * Seeds the reverse-geocoding cache from a forward geocoding response.
+     *
+     * @param response the upstream forward geocoding response
+     */
+    public void recordForward(LocationResponse response) {
+        if (!enabled || response == null || response.getData() == null || response.getData().isEmpty()) {
+            return;
+        }
+        DatumOne datum = response.getData().get(0);
+        if (isTrusted(datum.getConfidence(), datum.getLabel())) {
+            seed(REVERSE_CACHE, reverseKey(datum.getLatitude(), datum.getLongitude()), new Address(datum.getLabel(), datum.getConfidence()));
+        }
+    }
+
+    /**
+     * Seeds the geocoding cache from a reverse geocoding response.
+     *
+     * @param response the upstream reverse geocoding response
+     */
+    public void recordReverse(CoordinateResponse response) {
+        if (!enabled || response == null || response.getData() == null || response.getData().isEmpty()) {
+            return;
+        }
+        DatumTwo datum = response.getData().get(0);
+        if (isTrusted(datum.getConfidence(), datum.getLabel())) {
+            seed(FORWARD_CACHE, datum.getLabel(), new Coordinate(datum.getLatitude(), datum.getLongitude(), datum.getConfidence()));
+        }
+    }
+
+    private boolean isTrusted(double confidence, String label) {
+        return confidence >= minConfidence && StringUtils.hasText(label) && label.trim().length() >= MIN_LABEL_LENGTH;
+    }
+
+    private void seed(String cacheName, Object key, Object value) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        boolean stored = cache instanceof ManagedCache
+                ? ((ManagedCache) cache).seed(key, value)
+                : cache.putIfAbsent(key, value) == null;
+        if (stored) {
+            log.debug(Constants.CROSS_POPULATED, key, cacheName);
+        }
+    }
+
+    /**
+     * Mirrors the {@code {#latitude, #longitude}} key expression used by {@link LocationService#getAddress}.
+     */
+    private static List<Double> reverseKey(double latitude, double longitude) {
+        return Arrays.asList(latitude, longitude);
+    }
+}
@@ -0,0 +1,198 @@
+package com.caching.service;
+
+import com.caching.caching.ExpiryPolicy;
+import com.caching.caching.ManagedCache;
+import com.caching.dto.out.CacheEntrySnapshot;
+import com.caching.dto.out.CacheSummary;
+import com.caching.exception.CacheManagementException;
+import com.caching.exception.CacheNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that inspects and reconfigures live caches: capacity, expiry, bulk invalidation and
+ * sampling of the hottest entries.
+ */
+
+@Service
+@RequiredArgsConstructor
+public class CacheManagementService {
+
+    private static final int MAX_SAMPLE_SIZE = 100000;
+    private static final int MAX_CACHE_SIZE = 1000000;
+    private static final long MIN_TTL_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_TTL_MILLIS = TimeUnit.DAYS.toMillis(30);
+    private static final int MAX_PATTERN_LENGTH = 256;
+    private static final long PATTERN_TIMEOUT_MILLIS = 1000;
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Describes every managed cache.
+     */
+    public List<CacheSummary> getCaches() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(this::getCache)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Describes one cache.
+     */
+    public CacheSummary getCache(String name) {
+        return summarize(resolve(name));
+    }
+
+    /**
+     * Changes the maximum number of entries of a cache, at most 1,000,000. Growing a cache allocates its
+     * storage up front, so the bound keeps a single request from exhausting the heap.
+     */
+    public CacheSummary resize(String name, int maxSize) {
+        if (maxSize < 1 || maxSize > MAX_CACHE_SIZE) {
+            throw new CacheManagementException("maxSize must be between 1 and " + MAX_CACHE_SIZE);
+        }
+        ManagedCache cache = resolve(name);
+        cache.resize(maxSize);
+        return summarize(cache);
+    }
+
+    /**
+     * Changes the expiry settings of a cache. Settings that are not given keep their current value. A TTL is
+     * either 0, which disables the rule, or between one second and 30 days: shorter TTLs would have the cleanup
+     * task sweep the cache continuously, and longer ones amount to never expiring.
+     */
+    public CacheSummary updateExpiry(String name, Long expireAfterWriteMillis, Long expireAfterAccessMillis, Double jitter) {
+        checkTtl("expireAfterWriteMillis", expireAfterWriteMillis);
+        checkTtl("expireAfterAccessMillis", expireAfterAccessMillis);
+        ManagedCache cache = resolve(name);
+        ExpiryPolicy.ExpiryPolicyBuilder builder = cache.getExpiryPolicy().toBuilder();
+        if (expireAfterWriteMillis != null) {
+            builder.expireAfterWriteMillis(expireAfterWriteMillis);
+        }
+        if (expireAfterAccessMillis != null) {
+            builder.expireAfterAccessMillis(expireAfterAccessMillis);
+        }
+        if (jitter != null) {
+            builder.jitter(jitter);
+        }
+        try {
+            cache.setExpiryPolicy(builder.build());
+        } catch (IllegalArgumentException e) {
+            throw new CacheManagementException(e.getMessage());
+        }
+        return summarize(cache);
+    }
+
+    /**
+     * Removes every entry whose key, in string form, starts with {@code prefix} or fully matches the regular
+     * expression {@code pattern}. Exactly one of the two must be given.
+     * <p>
+     * Patterns come from the client, so they are bounded: at most 256 characters, and matching across all
+     * keys must finish within one second. A pattern that backtracks past the deadline is rejected and nothing
+     * is removed.
+     *
+     * @return the number of removed entries
+     */
+    public int invalidate(String name, String prefix, String pattern) {
+        if (StringUtils.hasLength(prefix) == StringUtils.hasLength(pattern)) {
+            throw new CacheManagementException("Exactly one of prefix or pattern is required");
+        }
+        ManagedCache cache = resolve(name);
+        Predicate<Object> keyPredicate;
+        if (StringUtils.hasLength(prefix)) {
+            keyPredicate = key -> String.valueOf(key).startsWith(prefix);
+        } else {
+            if (pattern.length() > MAX_PATTERN_LENGTH) {
+                throw new CacheManagementException("pattern must not be longer than " + MAX_PATTERN_LENGTH + " characters");
+            }
+            try {
+                Pattern compiled = Pattern.compile(pattern);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PATTERN_TIMEOUT_MILLIS);
+                keyPredicate = key -> compiled.matcher(new DeadlineCharSequence(String.valueOf(key), deadline)).matches();
+            } catch (PatternSyntaxException e) {
+                throw new CacheManagementException("Invalid pattern: " + e.getDescription());
+            }
+        }
+        return cache.invalidateIf(keyPredicate);
+    }
+
+    /**
+     * Returns the most read entries among a sample of the cache.
+     */
+    public List<CacheEntrySnapshot> getHottest(String name, int limit, int sampleSize) {
+        if (limit < 1 || sampleSize < 1 || sampleSize > MAX_SAMPLE_SIZE) {
+            throw new CacheManagementException("limit must be positive and sample must be between 1 and " + MAX_SAMPLE_SIZE);
+        }
+        return resolve(name).hottest(limit, sampleSize);
+    }
+
+    private static void checkTtl(String parameter, Long ttlMillis) {
+        if (ttlMillis != null && ttlMillis != 0 && (ttlMillis < MIN_TTL_MILLIS || ttlMillis > MAX_TTL_MILLIS)) {
+            throw new CacheManagementException(parameter + " must be 0 or between " + MIN_TTL_MILLIS + " and " + MAX_TTL_MILLIS);
+        }
+    }
+
+    private ManagedCache resolve(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (!(cache instanceof ManagedCache)) {
+            throw new CacheNotFoundException(name);
+        }
+        return (ManagedCache) cache;
+    }
+
+    private static CacheSummary summarize(ManagedCache cache) {
+        ExpiryPolicy policy = cache.getExpiryPolicy();
+        return new CacheSummary(cache.getName(), cache.size(), cache.getMaxSize(),
+                policy.getExpireAfterWriteMillis(), policy.getExpireAfterAccessMillis(), policy.getJitter());
+    }
+
+    /**
+     * Key text handed to the regex engine. Every character read counts as a step, and once the shared deadline
+     * has passed the next check aborts the match, which bounds catastrophic backtracking.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+        private final String text;
+        private final long deadline;
+        private int reads;
+
+        private DeadlineCharSequence(String text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+                throw new CacheManagementException("pattern took longer than " + PATTERN_TIMEOUT_MILLIS + " ms to match, nothing was invalidated");
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.substring(start, end), deadline);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
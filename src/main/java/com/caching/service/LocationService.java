@@ -1,10 +1,13 @@
 package com.caching.service;
 
 import com.caching.constant.Constants;
+import com.caching.dto.out.Address;
 import com.caching.dto.out.Coordinate;
 import com.caching.exception.InvalidAddressException;
 import com.caching.exception.InvalidCoordinatesException;
 import com.caching.exception.GeocodingApiException;
+import com.caching.geocoder.LocalGazetteer;
+import com.caching.geocoder.LocalReverseGeocoder;
 import com.caching.mapper.GlobalMapper;
 import com.caching.model.CoordinateResponse;
 import com.caching.model.LocationResponse;
@@ -34,6 +37,9 @@ public class LocationService {
 
     private final RestTemplate restTemplate;
     private final GlobalMapper globalMapper;
+    private final LocalReverseGeocoder localReverseGeocoder;
+    private final LocalGazetteer localGazetteer;
+    private final CacheCrossPopulator cacheCrossPopulator;
     private static final int MIN_ADDRESS_LENGTH = 3;
 
     @Value("${geocoding-url}")
@@ -43,7 +49,8 @@ public class LocationService {
     private String reverseApi;
 
     /**
-     * Retrieves the geographic coordinates (latitude and longitude) for a given address.
+     * Retrieves the geographic coordinates (latitude and longitude) for a given address, answering from the
+     * local gazetteer when it is confident and from the geocoding API otherwise.
      */
 
     @Cacheable(value = "geocoding", key = "#address", unless = "#result == null || #address.equalsIgnoreCase('goa')")
@@ -52,6 +59,12 @@ public class LocationService {
             throw new InvalidAddressException("Address must have at least " + MIN_ADDRESS_LENGTH + " characters");
         }
 
+        Coordinate localCoordinate = localGazetteer.findCoordinates(address);
+        if (localCoordinate != null) {
+            log.info(Constants.GAZETTEER_HIT, address);
+            return localCoordinate;
+        }
+
         try {
             String finalAPI = buildForwardGeocodingAPI(address);
             log.info(Constants.FORWARD_API_CALL, address);
@@ -66,7 +79,9 @@ public class LocationService {
                 throw new GeocodingApiException("Invalid geocoding response");
             }
 
-            return globalMapper.convertToCoordinate(response.getBody());
+            Coordinate coordinate = globalMapper.convertToCoordinate(response.getBody());
+            cacheCrossPopulator.recordForward(response.getBody());
+            return coordinate;
         } catch (RestClientException e) {
             log.error(Constants.GEOCODING_API_FAILED, address, e);
             throw new GeocodingApiException("Geocoding API call failed");
@@ -78,13 +93,20 @@ public class LocationService {
 
 
     /**
-     * Retrieves the address for a given latitude and longitude.
+     * Retrieves the address for a given latitude and longitude, answering from the local dataset when a
+     * known place is close enough and from the reverse geocoding API otherwise.
      */
 
     @Cacheable(value = "reverse-geocoding", key = "{#latitude, #longitude}", unless = "#result == null")
-    public String getAddress(double latitude, double longitude) {
+    public Address getAddress(double latitude, double longitude) {
         validateCoordinates(latitude, longitude);
 
+        String localAddress = localReverseGeocoder.findAddress(latitude, longitude);
+        if (localAddress != null) {
+            log.info(Constants.LOCAL_REVERSE_HIT, latitude, longitude, localAddress);
+            return new Address(localAddress);
+        }
+
         try {
             String finalAPI = buildReverseGeocodingAPI(latitude, longitude);
             log.info(Constants.REVERSE_API_CALL, latitude, longitude);
@@ -100,8 +122,9 @@ public class LocationService {
                 throw new GeocodingApiException("Invalid reverse geocoding response");
             }
 
-            String address = globalMapper.convertToAddress(response.getBody());
-            log.info(Constants.ADDRESS_DISPLAY, address);
+            Address address = globalMapper.convertToAddress(response.getBody());
+            cacheCrossPopulator.recordReverse(response.getBody());
+            log.info(Constants.ADDRESS_DISPLAY, address.getLabel());
             return address;
         } catch (RestClientException e) {
             log.error(Constants.API_CALL_FAILED, latitude, longitude, e);
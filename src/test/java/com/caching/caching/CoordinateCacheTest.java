@@ -0,0 +1,227 @@
+package com.caching.caching;
+
+import com.caching.dto.out.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link CoordinateCache} against a {@link HashMap} reference. Small key spaces and tables near their
+ * load factor keep probe runs long, so backward-shift deletion, remove-while-scan and rehashing are all
+ * exercised.
+ */
+class CoordinateCacheTest {
+    private static final long START_MILLIS = 1_700_000_000_000L;
+    private static final long TTL_MILLIS = 10_000;
+
+    private final AtomicLong clock = new AtomicLong(START_MILLIS);
+
+    @Test
+    void randomPutsAndEvictionsMatchHashMap() {
+        CoordinateCache cache = newCache(600, 0);
+        Map<String, Coordinate> reference = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 200_000; i++) {
+            String key = "k" + random.nextInt(600);
+            if (random.nextInt(3) == 0) {
+                cache.evict(key);
+                reference.remove(key);
+            } else {
+                Coordinate coordinate = randomCoordinate(random);
+                cache.put(key, coordinate);
+                reference.put(key, coordinate);
+            }
+            if (i % 1000 == 0) {
+                assertMatches(reference, cache);
+            }
+        }
+        assertMatches(reference, cache);
+    }
+
+    @Test
+    void invalidateIfRemovesExactlyTheMatchingKeys() {
+        CoordinateCache cache = newCache(1000, 0);
+        Map<String, Coordinate> reference = new HashMap<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 1000; i++) {
+            Coordinate coordinate = randomCoordinate(random);
+            cache.put("k" + i, coordinate);
+            reference.put("k" + i, coordinate);
+        }
+
+        int removed = cache.invalidateIf(key -> key.hashCode() % 3 == 0);
+
+        int expected = (int) reference.keySet().stream().filter(key -> key.hashCode() % 3 == 0).count();
+        reference.keySet().removeIf(key -> key.hashCode() % 3 == 0);
+        assertEquals(expected, removed);
+        assertMatches(reference, cache);
+    }
+
+    @Test
+    void cleanupRemovesOnlyExpiredEntries() {
+        CoordinateCache cache = newCache(1000, TTL_MILLIS);
+        Map<String, Coordinate> reference = new HashMap<>();
+        Map<String, Long> writtenAt = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 100 == 0) {
+                clock.addAndGet(2_000);
+            }
+            Coordinate coordinate = randomCoordinate(random);
+            cache.put("k" + i, coordinate);
+            reference.put("k" + i, coordinate);
+            writtenAt.put("k" + i, clock.get());
+        }
+
+        clock.addAndGet(1_000);
+        cache.cleanupExpiredEntries();
+
+        // expiry has one-second resolution, so the clock stays whole seconds away from every deadline
+        reference.keySet().removeIf(key -> clock.get() > writtenAt.get(key) + TTL_MILLIS);
+        assertTrue(reference.size() > 0 && reference.size() < 1000);
+        assertMatches(reference, cache);
+    }
+
+    @Test
+    void growingRehashesEveryEntry() {
+        CoordinateCache cache = newCache(100, 0);
+        Map<String, Coordinate> reference = new HashMap<>();
+        Random random = new Random(4);
+        for (int i = 0; i < 100; i++) {
+            Coordinate coordinate = randomCoordinate(random);
+            cache.put("k" + i, coordinate);
+            reference.put("k" + i, coordinate);
+        }
+
+        cache.resize(5000);
+        for (int i = 100; i < 5000; i++) {
+            Coordinate coordinate = randomCoordinate(random);
+            cache.put("k" + i, coordinate);
+            reference.put("k" + i, coordinate);
+        }
+
+        assertEquals(5000, cache.getMaxSize());
+        assertMatches(reference, cache);
+    }
+
+    @Test
+    void fullCacheEvictsDownToMaxSize() {
+        CoordinateCache cache = newCache(50, 0);
+        Random random = new Random(5);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("k" + i, randomCoordinate(random));
+            assertTrue(cache.size() <= 50);
+        }
+        assertEquals(50, cache.size());
+    }
+
+    @Test
+    void putIfAbsentKeepsLiveEntryAndReplacesExpiredOne() {
+        CoordinateCache cache = newCache(10, TTL_MILLIS);
+        cache.put("pune", new Coordinate(18.5204303, 73.8567437));
+
+        assertNotNull(cache.putIfAbsent("pune", new Coordinate(1, 1)));
+        assertEquals(18.5204303, cache.get("pune", Coordinate.class).getLatitude());
+
+        clock.addAndGet(TTL_MILLIS + 2_000);
+        assertNull(cache.putIfAbsent("pune", new Coordinate(1, 1)));
+        assertEquals(1, cache.get("pune", Coordinate.class).getLatitude());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void seedSkipsFullCacheAndIsEvictedFirst() {
+        CoordinateCache cache = newCache(3, 0);
+        Random random = new Random(6);
+        cache.put("a", randomCoordinate(random));
+        cache.put("b", randomCoordinate(random));
+        cache.put("c", randomCoordinate(random));
+
+        assertFalse(cache.seed("d", randomCoordinate(random)));
+        assertEquals(3, cache.size());
+
+        cache.evict("c");
+        Coordinate a = cache.get("a", Coordinate.class);
+        assertTrue(cache.seed("d", randomCoordinate(random)));
+        assertFalse(cache.seed("a", new Coordinate(1, 1)));
+        assertEquals(a.getLatitude(), cache.get("a", Coordinate.class).getLatitude());
+
+        cache.put("e", randomCoordinate(random));
+        assertNull(cache.get("d"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertNotNull(cache.get("e"));
+    }
+
+    @Test
+    void confidentResultsGetLongerWriteDeadlines() {
+        ExpiryPolicy policy = ExpiryPolicy.builder()
+                .expireAfterWriteMillis(TTL_MILLIS)
+                .entryTtl(new ConfidenceTtl(3))
+                .build();
+        CoordinateCache cache = new CoordinateCache("test", 10, policy, clock::get);
+        cache.put("doubtful", new Coordinate(18.52, 73.85, 0));
+        cache.put("certain", new Coordinate(18.52, 73.85, 1));
+        cache.put("local", new Coordinate(18.52, 73.85));
+
+        Map<String, Long> deadlines = new HashMap<>();
+        cache.hottest(10, 10).forEach(entry -> deadlines.put(entry.getKey(), entry.getExpiresAt()));
+
+        assertEquals(START_MILLIS + TTL_MILLIS, deadlines.get("doubtful"));
+        assertEquals(START_MILLIS + 3 * TTL_MILLIS, deadlines.get("certain"));
+        assertEquals(START_MILLIS + TTL_MILLIS, deadlines.get("local"));
+
+        clock.addAndGet(TTL_MILLIS + 1_000);
+        assertNull(cache.get("doubtful"));
+        assertNotNull(cache.get("certain"));
+    }
+
+    @Test
+    void coordinatesWithSevenDecimalsRoundTripExactly() {
+        CoordinateCache cache = newCache(10, 0);
+        cache.put("edge", new Coordinate(-89.9999999, 179.9999999));
+
+        Coordinate coordinate = cache.get("edge", Coordinate.class);
+
+        assertEquals(-89.9999999, coordinate.getLatitude());
+        assertEquals(179.9999999, coordinate.getLongitude());
+    }
+
+    private CoordinateCache newCache(int maxSize, long expireAfterWriteMillis) {
+        ExpiryPolicy policy = ExpiryPolicy.builder().expireAfterWriteMillis(expireAfterWriteMillis).build();
+        return new CoordinateCache("test", maxSize, policy, clock::get);
+    }
+
+    /**
+     * Random coordinate on the cache's 1e-7 degree grid, so stored values compare exactly.
+     */
+    private static Coordinate randomCoordinate(Random random) {
+        return new Coordinate(Math.round((random.nextDouble() * 180 - 90) * 1e7) / 1e7,
+                Math.round((random.nextDouble() * 360 - 180) * 1e7) / 1e7);
+    }
+
+    private static void assertMatches(Map<String, Coordinate> reference, CoordinateCache cache) {
+        assertEquals(reference.size(), cache.size());
+        List<String> keys = new ArrayList<>(reference.keySet());
+        for (String key : keys) {
+            Coordinate cached = cache.get(key, Coordinate.class);
+            assertNotNull(cached, key);
+            assertEquals(reference.get(key).getLatitude(), cached.getLatitude(), key);
+            assertEquals(reference.get(key).getLongitude(), cached.getLongitude(), key);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertNull(cache.get("absent" + i));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.caching.caching;
+
+import com.caching.dto.out.CacheEntrySnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link CustomLRUCache}'s conditional writes: {@code putIfAbsent} must be atomic and leave a live entry
+ * alone, and {@code seed} must never displace an entry a client used. Also checks that shrinking converges on
+ * the least recently used entries and that puts racing a shrink keep the cache bounded.
+ */
+class CustomLRUCacheTest {
+
+    @Test
+    void putIfAbsentLeavesLiveEntryUntouched() {
+        CustomLRUCache cache = newCache(10, 60_000);
+        cache.put("pune", "Pune, India");
+        cache.get("pune");
+        CacheEntrySnapshot before = cache.hottest(1, 10).get(0);
+
+        Cache.ValueWrapper existing = cache.putIfAbsent("pune", "Poona");
+
+        assertNotNull(existing);
+        assertEquals("Pune, India", existing.get());
+        CacheEntrySnapshot after = cache.hottest(1, 10).get(0);
+        assertEquals(before.getHits(), after.getHits());
+        assertEquals(before.getLastAccessTime(), after.getLastAccessTime());
+        assertEquals(before.getExpiresAt(), after.getExpiresAt());
+    }
+
+    @Test
+    void putIfAbsentReplacesExpiredEntry() throws InterruptedException {
+        CustomLRUCache cache = newCache(10, 1);
+        cache.put("pune", "Pune, India");
+        Thread.sleep(5);
+
+        assertNull(cache.putIfAbsent("pune", "Poona"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void concurrentPutIfAbsentStoresExactlyOneValue() throws Exception {
+        CustomLRUCache cache = newCache(10, 60_000);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                String key = "k" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Cache.ValueWrapper>> results = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    String value = "v" + t;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return cache.putIfAbsent(key, value);
+                    }));
+                }
+                start.countDown();
+                List<Cache.ValueWrapper> existing = new ArrayList<>();
+                for (Future<Cache.ValueWrapper> result : results) {
+                    existing.add(result.get(10, TimeUnit.SECONDS));
+                }
+                Object winner = cache.get(key, Object.class);
+                assertEquals(1, existing.stream().filter(wrapper -> wrapper == null).count(), key);
+                existing.stream()
+                        .filter(wrapper -> wrapper != null)
+                        .forEach(wrapper -> assertEquals(winner, wrapper.get(), key));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void seedSkipsFullCacheAndIsEvictedFirst() {
+        CustomLRUCache cache = newCache(3, 60_000);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        assertFalse(cache.seed("d", "D"));
+        assertEquals(3, cache.size());
+
+        cache.evict("c");
+        assertTrue(cache.seed("d", "D"));
+        assertFalse(cache.seed("a", "not A"));
+        assertEquals("A", cache.get("a", String.class));
+
+        cache.put("e", "E");
+        assertNull(cache.get("d"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertNotNull(cache.get("e"));
+    }
+
+    @Test
+    void shrinkEvictsLeastRecentlyUsedEntries() throws InterruptedException {
+        CustomLRUCache cache = newCache(2000, 60_000);
+        for (int i = 0; i < 2000; i++) {
+            cache.put("k" + i, i);
+        }
+        Thread.sleep(5);
+        for (int i = 0; i < 500; i++) {
+            cache.get("k" + i);
+        }
+
+        cache.resize(500);
+        awaitSize(cache, 500);
+
+        assertEquals(500, cache.size());
+        for (int i = 0; i < 500; i++) {
+            assertNotNull(cache.get("k" + i), "k" + i);
+        }
+    }
+
+    @Test
+    void putsDuringShrinkKeepCacheBounded() throws Exception {
+        CustomLRUCache cache = newCache(20_000, 60_000);
+        for (int i = 0; i < 20_000; i++) {
+            cache.put("k" + i, i);
+        }
+
+        cache.resize(100);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.size() == 20_000 && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    int largest = 0;
+                    for (int i = 0; i < 2000; i++) {
+                        cache.put("t" + thread + "-" + i, i);
+                        largest = Math.max(largest, cache.size());
+                    }
+                    return largest;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS) < 20_000);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        awaitSize(cache, 100);
+        assertEquals(100, cache.size());
+    }
+
+    private static void awaitSize(CustomLRUCache cache, int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.size() > size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static CustomLRUCache newCache(int maxSize, long expireAfterWriteMillis) {
+        return new CustomLRUCache("test", maxSize, ExpiryPolicy.builder().expireAfterWriteMillis(expireAfterWriteMillis).build());
+    }
+}
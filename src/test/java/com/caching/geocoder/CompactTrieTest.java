@@ -0,0 +1,180 @@
+package com.caching.geocoder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link CompactTrie} against brute force over the same keys: a map for exact lookups, a scan for
+ * prefixes and the full Levenshtein distance to every key for fuzzy lookups. Short keys over a three-letter
+ * alphabet make shared prefixes, ties and ambiguous keys common.
+ */
+class CompactTrieTest {
+    private static final String ALPHABET = "abc";
+
+    @Test
+    void getAndPrefixMatchReference() {
+        Random random = new Random(11);
+        CompactTrie trie = new CompactTrie();
+        Map<String, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            put(trie, reference, randomWord(random, 1, 6), random.nextInt(150));
+        }
+        trie.trim();
+
+        assertEquals(reference.size(), trie.keyCount());
+        assertTrue(reference.containsValue(CompactTrie.AMBIGUOUS));
+        for (int i = 0; i < 2000; i++) {
+            String word = randomWord(random, 0, 7);
+            assertEquals((int) reference.getOrDefault(word, CompactTrie.NONE), trie.get(word), word);
+            assertEquals(uniqueWithPrefix(reference, word), trie.uniqueWithPrefix(word), word);
+        }
+    }
+
+    @Test
+    void closestMatchesBruteForce() {
+        Random random = new Random(12);
+        CompactTrie trie = new CompactTrie();
+        Map<String, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            put(trie, reference, randomWord(random, 2, 8), random.nextInt(200));
+        }
+
+        int found = 0;
+        for (int i = 0; i < 3000; i++) {
+            String query = randomWord(random, 1, 9);
+            int maxEdits = random.nextInt(4);
+            int expected = closest(reference, "", query, maxEdits, 1);
+            assertEquals(expected, trie.closest(query, maxEdits), query + " within " + maxEdits);
+            if (expected >= 0) {
+                found++;
+            }
+        }
+        assertTrue(found > 0);
+    }
+
+    @Test
+    void scopedClosestHonoursScopeAndMargin() {
+        Random random = new Random(13);
+        CompactTrie trie = new CompactTrie();
+        Map<String, Integer> reference = new HashMap<>();
+        String[] scopes = {"x/", "y/", "xy/"};
+        for (int i = 0; i < 600; i++) {
+            String scope = scopes[random.nextInt(scopes.length)];
+            put(trie, reference, scope + randomWord(random, 2, 7), random.nextInt(300));
+        }
+
+        int found = 0;
+        for (int i = 0; i < 5000; i++) {
+            String scope = random.nextInt(10) == 0 ? "z/" : scopes[random.nextInt(scopes.length)];
+            String query = randomWord(random, 1, 8);
+            int maxEdits = random.nextInt(4);
+            int margin = 1 + random.nextInt(3);
+            int expected = closest(reference, scope, query, maxEdits, margin);
+            assertEquals(expected, trie.closest(scope, query, maxEdits, margin),
+                    scope + query + " within " + maxEdits + " by " + margin);
+            if (expected >= 0) {
+                found++;
+            }
+        }
+        assertTrue(found > 0);
+    }
+
+    @Test
+    void sameValueUnderSeveralKeysIsNotACompetitor() {
+        CompactTrie trie = new CompactTrie();
+        trie.put("pune", 1);
+        trie.put("poona", 1);
+        trie.put("puna", 2);
+
+        assertEquals(1, trie.closest("pune", 1));
+        assertEquals(CompactTrie.NONE, trie.closest("", "pune", 1, 2));
+        assertEquals(1, trie.closest("", "poona", 1, 2));
+    }
+
+    private static void put(CompactTrie trie, Map<String, Integer> reference, String key, int value) {
+        trie.put(key, value);
+        reference.merge(key, value, (current, added) -> current.equals(added) ? current : CompactTrie.AMBIGUOUS);
+    }
+
+    private static int uniqueWithPrefix(Map<String, Integer> reference, String prefix) {
+        Set<Integer> values = new HashSet<>();
+        reference.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                values.add(value);
+            }
+        });
+        return values.size() == 1 && !values.contains(CompactTrie.AMBIGUOUS) ? values.iterator().next() : CompactTrie.NONE;
+    }
+
+    /**
+     * The single value at the smallest distance within {@code maxEdits}, provided every key with another value
+     * (or an ambiguous key) is at least {@code margin} edits further away.
+     */
+    private static int closest(Map<String, Integer> reference, String scope, String query, int maxEdits, int margin) {
+        Map<String, Integer> distances = new HashMap<>();
+        int best = Integer.MAX_VALUE;
+        for (String key : reference.keySet()) {
+            if (key.length() > scope.length() && key.startsWith(scope)) {
+                int distance = levenshtein(key.substring(scope.length()), query);
+                distances.put(key, distance);
+                best = Math.min(best, distance);
+            }
+        }
+        if (best > maxEdits) {
+            return CompactTrie.NONE;
+        }
+        Set<Integer> nearest = new HashSet<>();
+        for (Map.Entry<String, Integer> entry : distances.entrySet()) {
+            if (entry.getValue() == best) {
+                nearest.add(reference.get(entry.getKey()));
+            }
+        }
+        int value = nearest.iterator().next();
+        if (nearest.size() > 1 || value == CompactTrie.AMBIGUOUS) {
+            return CompactTrie.NONE;
+        }
+        for (Map.Entry<String, Integer> entry : distances.entrySet()) {
+            int other = reference.get(entry.getKey());
+            if ((other != value || other == CompactTrie.AMBIGUOUS) && entry.getValue() - best < margin) {
+                return CompactTrie.NONE;
+            }
+        }
+        return value;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(current[j - 1], previous[j]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static String randomWord(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return word.toString();
+    }
+}
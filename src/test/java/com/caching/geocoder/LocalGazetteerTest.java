@@ -0,0 +1,59 @@
+package com.caching.geocoder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that {@link LocalGazetteer} answers unqualified place names only when
+ * {@code local-gazetteer.exact.bare-names} is set.
+ */
+class LocalGazetteerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bareNamesAreNotAnsweredByDefault() throws IOException {
+        LocalGazetteer gazetteer = load(false);
+
+        assertNull(gazetteer.findCoordinates("Pune"));
+        assertEquals(18.5204, gazetteer.findCoordinates("Pune, Maharashtra").getLatitude());
+        assertEquals(18.5204, gazetteer.findCoordinates("Pune India").getLatitude());
+    }
+
+    @Test
+    void bareNamesAreAnsweredWhenEnabled() throws IOException {
+        LocalGazetteer gazetteer = load(true);
+
+        assertNotNull(gazetteer.findCoordinates("Pune"));
+        assertEquals(18.5204, gazetteer.findCoordinates("Pune").getLatitude());
+    }
+
+    private LocalGazetteer load(boolean bareNames) throws IOException {
+        Path dataset = directory.resolve("places.csv");
+        Files.write(dataset, ("name,region,country,latitude,longitude\n"
+                + "Pune,Maharashtra,India,18.5204,73.8567\n"
+                + "Mumbai,Maharashtra,India,19.0760,72.8777\n").getBytes(StandardCharsets.UTF_8));
+        LocalGazetteer gazetteer = new LocalGazetteer();
+        ReflectionTestUtils.setField(gazetteer, "dataset", dataset.toString());
+        ReflectionTestUtils.setField(gazetteer, "minPrefixLength", 4);
+        ReflectionTestUtils.setField(gazetteer, "maxEdits", 2);
+        ReflectionTestUtils.setField(gazetteer, "exactEnabled", true);
+        ReflectionTestUtils.setField(gazetteer, "bareNames", bareNames);
+        ReflectionTestUtils.setField(gazetteer, "prefixEnabled", true);
+        ReflectionTestUtils.setField(gazetteer, "fuzzyEnabled", true);
+        ReflectionTestUtils.setField(gazetteer, "fuzzyMinMargin", 2);
+        gazetteer.load();
+        return gazetteer;
+    }
+}
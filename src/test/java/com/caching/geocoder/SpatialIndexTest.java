@@ -0,0 +1,158 @@
+package com.caching.geocoder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks {@link SpatialIndex} nearest-neighbour answers against a linear scan over the same points. The
+ * reference uses the float coordinates the index stores, so both sides measure identical distances.
+ */
+class SpatialIndexTest {
+    private static final double MAX_DISTANCE_KM = 25;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void nearestMatchesLinearScan() throws IOException {
+        Random random = new Random(7);
+        List<LocalityRecord> records = new ArrayList<>();
+        // clustered points so that queries land both near and far from the closest place
+        for (int cluster = 0; cluster < 40; cluster++) {
+            double latitude = random.nextDouble() * 170 - 85;
+            double longitude = random.nextDouble() * 350 - 175;
+            for (int i = 0; i < 100; i++) {
+                records.add(place("p" + records.size(), latitude + random.nextGaussian() * 0.5,
+                        longitude + random.nextGaussian() * 0.5));
+            }
+        }
+        SpatialIndex index = writeAndLoad(records);
+        assertEquals(records.size(), index.size());
+
+        int found = 0;
+        for (int query = 0; query < 2000; query++) {
+            LocalityRecord anchor = records.get(random.nextInt(records.size()));
+            double latitude = clamp(anchor.getLatitude() + random.nextGaussian(), 90);
+            double longitude = clamp(anchor.getLongitude() + random.nextGaussian(), 180);
+
+            String label = index.nearest(latitude, longitude, MAX_DISTANCE_KM);
+            double expected = nearestDistance(records, latitude, longitude);
+            if (expected > MAX_DISTANCE_KM) {
+                assertNull(label);
+            } else {
+                assertNotNull(label);
+                LocalityRecord answer = records.get(Integer.parseInt(label.substring(1)));
+                assertEquals(expected, distance(answer, latitude, longitude), 1e-9);
+                found++;
+            }
+        }
+        assertTrue(found > 0 && found < 2000);
+    }
+
+    @Test
+    void duplicateCoordinatesOnEverySplitAxis() throws IOException {
+        List<LocalityRecord> records = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            records.add(place("p" + i, 10 + (i % 5) * 0.01, 20 + (i % 7) * 0.01));
+        }
+        Collections.shuffle(records, new Random(3));
+        SpatialIndex index = writeAndLoad(records);
+
+        for (LocalityRecord record : records) {
+            String label = index.nearest(record.getLatitude(), record.getLongitude(), 0.001);
+            assertNotNull(label);
+            LocalityRecord answer = records.stream().filter(r -> r.getLabel().equals(label)).findFirst().orElseThrow();
+            assertEquals((float) record.getLatitude(), (float) answer.getLatitude());
+            assertEquals((float) record.getLongitude(), (float) answer.getLongitude());
+        }
+    }
+
+    @Test
+    void longLabelsAreCutOnACharacterBoundary() throws IOException {
+        StringBuilder name = new StringBuilder("a");
+        for (int i = 0; i < 30000; i++) {
+            name.append('\u20AC');
+        }
+        SpatialIndex index = writeAndLoad(Collections.singletonList(new LocalityRecord(name.toString(), "", "", 1, 1)));
+
+        String label = index.nearest(1, 1, 1);
+
+        // 1 + 3 * 21844 = 65533 bytes; the next euro sign would end past the 65535-byte limit
+        assertEquals(name.substring(0, 1 + 21844), label);
+    }
+
+    @Test
+    void loadRejectsFilesThatAreNotIndexes() throws IOException {
+        Path file = directory.resolve("places.csv.kdx");
+        Files.write(file, "name,region,country,latitude,longitude\n".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> SpatialIndex.load(file));
+
+        Files.write(file, new byte[]{0x4B, 0x44, 0x58, 0x31, 0, 0, 0, 2, 0, 0, 0, 0});
+        assertThrows(IllegalArgumentException.class, () -> SpatialIndex.load(file));
+
+        Files.write(file, new byte[]{0x4B, 0x44, 0x58, 0x31, 0, 0, 0, 1, 0, 0, 0, 5});
+        assertThrows(IllegalArgumentException.class, () -> SpatialIndex.load(file));
+    }
+
+    @Test
+    void loadRejectsLabelsOutsideTheFile() throws IOException {
+        Path file = directory.resolve("places.csv.kdx");
+        SpatialIndex.write(Arrays.asList(place("Pune", 18.52, 73.85), place("Mumbai", 19.07, 72.87)), file);
+        byte[] valid = Files.readAllBytes(file);
+
+        byte[] badOffset = valid.clone();
+        ByteBuffer.wrap(badOffset).putInt(12 + 12 + 8, 1 << 20);
+        Files.write(file, badOffset);
+        assertThrows(IllegalArgumentException.class, () -> SpatialIndex.load(file));
+
+        byte[] negativeOffset = valid.clone();
+        ByteBuffer.wrap(negativeOffset).putInt(12 + 8, -1);
+        Files.write(file, negativeOffset);
+        assertThrows(IllegalArgumentException.class, () -> SpatialIndex.load(file));
+
+        Files.write(file, Arrays.copyOf(valid, valid.length - 1));
+        assertThrows(IllegalArgumentException.class, () -> SpatialIndex.load(file));
+    }
+
+    private SpatialIndex writeAndLoad(List<LocalityRecord> records) throws IOException {
+        Path file = directory.resolve("places.csv.kdx");
+        SpatialIndex.write(records, file);
+        return SpatialIndex.load(file);
+    }
+
+    private static LocalityRecord place(String name, double latitude, double longitude) {
+        return new LocalityRecord(name, "", "", clamp(latitude, 90), clamp(longitude, 180));
+    }
+
+    private static double nearestDistance(List<LocalityRecord> records, double latitude, double longitude) {
+        double best = Double.MAX_VALUE;
+        for (LocalityRecord record : records) {
+            best = Math.min(best, distance(record, latitude, longitude));
+        }
+        return best;
+    }
+
+    private static double distance(LocalityRecord record, double latitude, double longitude) {
+        return SpatialIndex.haversineKm(latitude, longitude, (float) record.getLatitude(), (float) record.getLongitude());
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+}
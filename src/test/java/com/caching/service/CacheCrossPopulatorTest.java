@@ -0,0 +1,150 @@
+package com.caching.service;
+
+import com.caching.caching.ManagedCache;
+import com.caching.config.CacheProperties;
+import com.caching.config.impl.CustomCacheManager;
+import com.caching.dto.out.Address;
+import com.caching.dto.out.CacheEntrySnapshot;
+import com.caching.dto.out.Coordinate;
+import com.caching.model.CoordinateResponse;
+import com.caching.model.DatumOne;
+import com.caching.model.DatumTwo;
+import com.caching.model.LocationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that {@link CacheCrossPopulator} seeds each direction's cache under the key the {@code @Cacheable}
+ * lookup will use, and only with results it trusts and without disturbing entries clients already use.
+ */
+class CacheCrossPopulatorTest {
+    private CacheManager cacheManager;
+    private CacheCrossPopulator populator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CustomCacheManager(new CacheProperties());
+        populator = new CacheCrossPopulator(cacheManager);
+        ReflectionTestUtils.setField(populator, "enabled", true);
+        ReflectionTestUtils.setField(populator, "minConfidence", 0.8);
+    }
+
+    @Test
+    void forwardResultIsFoundUnderTheReverseCacheableKey() throws NoSuchMethodException {
+        populator.recordForward(forward("Shaniwar Wada, Pune, India", 18.5195, 73.8553, 0.9));
+
+        Address address = reverseCache().get(reverseKey(18.5195, 73.8553), Address.class);
+
+        assertNotNull(address);
+        assertEquals("Shaniwar Wada, Pune, India", address.getLabel());
+        assertEquals(0.9, address.getConfidence());
+    }
+
+    @Test
+    void reverseResultIsFoundUnderTheForwardCacheableKey() {
+        populator.recordReverse(reverse("Shaniwar Wada, Pune, India", 18.5195, 73.8553, 1));
+
+        Coordinate coordinate = forwardCache().get("Shaniwar Wada, Pune, India", Coordinate.class);
+
+        assertNotNull(coordinate);
+        assertEquals(18.5195, coordinate.getLatitude());
+        assertEquals(73.8553, coordinate.getLongitude());
+    }
+
+    @Test
+    void resultsBelowTheConfidenceThresholdAreNotRecorded() throws NoSuchMethodException {
+        populator.recordForward(forward("Pune, India", 18.52, 73.85, 0.79));
+        populator.recordReverse(reverse("Mumbai, India", 19.07, 72.87, 0.5));
+        populator.recordForward(forward("Nagpur, India", 21.14, 79.08, 0.8));
+
+        assertNull(reverseCache().get(reverseKey(18.52, 73.85)));
+        assertNull(forwardCache().get("Mumbai, India"));
+        assertNotNull(reverseCache().get(reverseKey(21.14, 79.08)));
+    }
+
+    @Test
+    void existingEntryIsLeftUntouched() throws NoSuchMethodException {
+        Object key = reverseKey(18.52, 73.85);
+        reverseCache().put(key, new Address("Pune, Maharashtra, India"));
+        reverseCache().get(key);
+        CacheEntrySnapshot before = reverseCache().hottest(1, 10).get(0);
+
+        populator.recordForward(forward("Somewhere else", 18.52, 73.85, 1));
+
+        CacheEntrySnapshot after = reverseCache().hottest(1, 10).get(0);
+        assertEquals(before.getHits(), after.getHits());
+        assertEquals(before.getLastAccessTime(), after.getLastAccessTime());
+        assertEquals(before.getExpiresAt(), after.getExpiresAt());
+        assertEquals("Pune, Maharashtra, India", reverseCache().get(key, Address.class).getLabel());
+    }
+
+    @Test
+    void fullCacheIsNotSeeded() throws NoSuchMethodException {
+        ManagedCache cache = reverseCache();
+        for (int i = 0; i < cache.getMaxSize(); i++) {
+            cache.put(reverseKey(i, i), new Address("place " + i));
+        }
+
+        populator.recordForward(forward("Pune, India", 18.52, 73.85, 1));
+
+        assertNull(cache.get(reverseKey(18.52, 73.85)));
+        for (int i = 0; i < cache.getMaxSize(); i++) {
+            assertNotNull(cache.get(reverseKey(i, i)));
+        }
+    }
+
+    private ManagedCache forwardCache() {
+        return (ManagedCache) cacheManager.getCache("geocoding");
+    }
+
+    private ManagedCache reverseCache() {
+        return (ManagedCache) cacheManager.getCache("reverse-geocoding");
+    }
+
+    /**
+     * Evaluates the key expression declared on {@link LocationService#getAddress} the way the caching aspect
+     * does, so the test fails if the populator and the annotation ever disagree.
+     */
+    private static Object reverseKey(double latitude, double longitude) throws NoSuchMethodException {
+        Cacheable cacheable = LocationService.class.getMethod("getAddress", double.class, double.class)
+                .getAnnotation(Cacheable.class);
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("latitude", latitude);
+        context.setVariable("longitude", longitude);
+        return new SpelExpressionParser().parseExpression(cacheable.key()).getValue(context);
+    }
+
+    private static LocationResponse forward(String label, double latitude, double longitude, double confidence) {
+        DatumOne datum = new DatumOne();
+        datum.setLabel(label);
+        datum.setLatitude(latitude);
+        datum.setLongitude(longitude);
+        datum.setConfidence(confidence);
+        LocationResponse response = new LocationResponse();
+        response.setData(new ArrayList<>(Collections.singletonList(datum)));
+        return response;
+    }
+
+    private static CoordinateResponse reverse(String label, double latitude, double longitude, double confidence) {
+        DatumTwo datum = new DatumTwo();
+        datum.setLabel(label);
+        datum.setLatitude(latitude);
+        datum.setLongitude(longitude);
+        datum.setConfidence(confidence);
+        CoordinateResponse response = new CoordinateResponse();
+        response.setData(new ArrayList<>(Collections.singletonList(datum)));
+        return response;
+    }
+}
@@ -0,0 +1,91 @@
+package com.caching.service;
+
+import com.caching.caching.ManagedCache;
+import com.caching.config.CacheProperties;
+import com.caching.config.impl.CustomCacheManager;
+import com.caching.exception.CacheManagementException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the bounds {@link CacheManagementService} puts on client input: capacities, TTLs, and regular
+ * expressions that backtrack catastrophically.
+ */
+class CacheManagementServiceTest {
+    private static final String CACHE = "reverse-geocoding";
+
+    private CacheManager cacheManager;
+    private CacheManagementService service;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CustomCacheManager(new CacheProperties());
+        service = new CacheManagementService(cacheManager);
+    }
+
+    @Test
+    void resizeRejectsCapacitiesOutsideTheLimit() {
+        assertThrows(CacheManagementException.class, () -> service.resize(CACHE, 0));
+        assertThrows(CacheManagementException.class, () -> service.resize(CACHE, 1_000_001));
+
+        assertEquals(1_000_000, service.resize(CACHE, 1_000_000).getMaxSize());
+        assertEquals(1_000_000, cache().getMaxSize());
+    }
+
+    @Test
+    void updateExpiryRejectsTtlsOutsideTheLimit() {
+        long before = cache().getExpiryPolicy().getExpireAfterWriteMillis();
+
+        assertThrows(CacheManagementException.class, () -> service.updateExpiry(CACHE, 999L, null, null));
+        assertThrows(CacheManagementException.class, () -> service.updateExpiry(CACHE, null, -1L, null));
+        assertThrows(CacheManagementException.class,
+                () -> service.updateExpiry(CACHE, TimeUnit.DAYS.toMillis(30) + 1, null, null));
+        assertEquals(before, cache().getExpiryPolicy().getExpireAfterWriteMillis());
+
+        service.updateExpiry(CACHE, 1000L, 0L, null);
+        assertEquals(1000, cache().getExpiryPolicy().getExpireAfterWriteMillis());
+        assertEquals(0, cache().getExpiryPolicy().getExpireAfterAccessMillis());
+    }
+
+    @Test
+    void catastrophicPatternIsAbortedAndNothingIsRemoved() {
+        String matching = "aaaaaaaaaaaaaaaaaaaab";
+        String runaway = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+        cache().put(matching, "match");
+        cache().put(runaway, "runaway");
+        cache().put("other", "other");
+
+        long start = System.nanoTime();
+        assertThrows(CacheManagementException.class, () -> service.invalidate(CACHE, null, "(.*a){20}b"));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(3, cache().size());
+        assertNotNull(cache().get(matching));
+        assertNotNull(cache().get(runaway));
+        assertNotNull(cache().get("other"));
+    }
+
+    @Test
+    void patternRemovesOnlyFullMatches() {
+        cache().put("aab", "match");
+        cache().put("aabc", "prefix only");
+
+        assertEquals(1, service.invalidate(CACHE, null, "a+b"));
+
+        assertNull(cache().get("aab"));
+        assertNotNull(cache().get("aabc"));
+    }
+
+    private ManagedCache cache() {
+        return (ManagedCache) cacheManager.getCache(CACHE);
+    }
+}